@@ -0,0 +1,68 @@
+package com.champlain.courseservice.utils;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.presentationlayer.CourseRequestDTO;
+import com.champlain.courseservice.presentationlayer.CourseResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseMappingBenchmark {
+
+    private Course course;
+    private CourseRequestDTO courseRequestDTO;
+
+    @Setup
+    public void setUp() {
+        course = Course.builder()
+                .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                .courseNumber("N45-LA")
+                .courseName("Web Services")
+                .numHours(60)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+
+        courseRequestDTO = CourseRequestDTO.builder()
+                .courseNumber("N45-LA")
+                .courseName("Web Services")
+                .numHours(60)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+    }
+
+    @Benchmark
+    public CourseResponseDTO toResponseDTO_beanUtils() {
+        CourseResponseDTO courseResponseDTO = new CourseResponseDTO();
+        BeanUtils.copyProperties(course, courseResponseDTO);
+        return courseResponseDTO;
+    }
+
+    @Benchmark
+    public CourseResponseDTO toResponseDTO_mapStruct() {
+        return CourseMapper.INSTANCE.toCourseResponseDTO(course);
+    }
+
+    @Benchmark
+    public Course toEntity_beanUtils() {
+        Course entity = new Course();
+        BeanUtils.copyProperties(courseRequestDTO, entity);
+        return entity;
+    }
+
+    @Benchmark
+    public Course toEntity_mapStruct() {
+        return CourseMapper.INSTANCE.toCourseEntity(courseRequestDTO);
+    }
+}
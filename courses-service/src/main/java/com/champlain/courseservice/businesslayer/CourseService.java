@@ -1,15 +1,21 @@
 package com.champlain.courseservice.businesslayer;
 
+import com.champlain.courseservice.presentationlayer.CourseImportResultDTO;
+import com.champlain.courseservice.presentationlayer.CourseLookupResponseDTO;
 import com.champlain.courseservice.presentationlayer.CourseRequestDTO;
 import com.champlain.courseservice.presentationlayer.CourseResponseDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CourseService {
 
     Flux<CourseResponseDTO> getAllCourses();
     Mono<CourseResponseDTO> getCourseById(String courseId);
+    Mono<CourseLookupResponseDTO> getCoursesByCourseIds(List<String> courseIds);
     Mono<CourseResponseDTO> addCourse(Mono<CourseRequestDTO> courseRequestDTO);
+    Flux<CourseImportResultDTO> importCourses(Flux<CourseRequestDTO> courseRequestDTOs);
     Mono<CourseResponseDTO> updateCourse(Mono<CourseRequestDTO> courseRequestDTO, String courseId);
     Mono<Void> removeCourse(String courseId);
 }
@@ -1,16 +1,29 @@
 package com.champlain.courseservice.businesslayer;
 
+import com.champlain.courseservice.dataaccesslayer.Course;
 import com.champlain.courseservice.dataaccesslayer.CourseRepository;
+import com.champlain.courseservice.presentationlayer.CourseImportResultDTO;
+import com.champlain.courseservice.presentationlayer.CourseLookupResponseDTO;
 import com.champlain.courseservice.presentationlayer.CourseRequestDTO;
 import com.champlain.courseservice.presentationlayer.CourseResponseDTO;
 import com.champlain.courseservice.utils.EntityDTOUtils;
+import com.champlain.courseservice.utils.IdGenerator;
+import com.champlain.courseservice.utils.exceptions.ConflictException;
 import com.champlain.courseservice.utils.exceptions.InvalidInputException;
 import com.champlain.courseservice.utils.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -18,6 +31,13 @@ import reactor.core.publisher.Mono;
 public class CourseServiceImpl implements CourseService{
 
     private final CourseRepository courseRepository;
+    private final IdGenerator idGenerator;
+
+    @Value("${app.lookup.max-batch-size:500}")
+    private int maxLookupBatchSize;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int importChunkSize;
 
     @Override
     public Flux<CourseResponseDTO> getAllCourses() {
@@ -38,15 +58,97 @@ public class CourseServiceImpl implements CourseService{
                 .map(EntityDTOUtils::toCourseResponseDTO);
     }
 
+    @Override
+    public Mono<CourseLookupResponseDTO> getCoursesByCourseIds(List<String> courseIds) {
+
+        if(courseIds == null || courseIds.isEmpty()){
+            return Mono.error(new InvalidInputException("At least one course ID is required for a lookup"));
+        }
+
+        Set<String> requestedCourseIds = new LinkedHashSet<>(courseIds);
+
+        if(requestedCourseIds.size() > maxLookupBatchSize){
+            return Mono.error(new InvalidInputException("A lookup can contain at most " + maxLookupBatchSize + " course IDs: " + requestedCourseIds.size()));
+        }
+
+        return courseRepository.findAllCourseByCourseIdIn(requestedCourseIds)
+                .map(EntityDTOUtils::toCourseResponseDTO)
+                .collectList()
+                .map(found -> {
+                    Set<String> missingCourseIds = new LinkedHashSet<>(requestedCourseIds);
+                    found.forEach(dto -> missingCourseIds.remove(dto.getCourseId()));
+                    return new CourseLookupResponseDTO(found, List.copyOf(missingCourseIds));
+                });
+    }
+
     @Override
     public Mono<CourseResponseDTO> addCourse(Mono<CourseRequestDTO> courseRequestDTO) {
         return courseRequestDTO
                 .map(EntityDTOUtils::toCourseEntity)
-                .doOnNext(e -> e.setCourseId(EntityDTOUtils.generateUUIDString()))
+                .doOnNext(e -> {
+                    e.setCourseId(idGenerator.generate());
+                    e.setVersion(null);
+                })
                 .flatMap(courseRepository::insert)
                 .map(EntityDTOUtils::toCourseResponseDTO);
     }
 
+    // Each chunk of importChunkSize courses is written with one unordered insertMany. concatMap only reads the next
+    // chunk of the upload once the current one is written and its results were consumed, so memory is bounded by
+    // the chunk size, not by the size of the upload.
+    @Override
+    public Flux<CourseImportResultDTO> importCourses(Flux<CourseRequestDTO> courseRequestDTOs) {
+        return courseRequestDTOs
+                .index()
+                .buffer(importChunkSize)
+                .concatMap(this::importCourseChunk);
+    }
+
+    private Flux<CourseImportResultDTO> importCourseChunk(List<Tuple2<Long, CourseRequestDTO>> chunk) {
+        List<CourseImportResultDTO> results = new ArrayList<>(chunk.size());
+        List<Course> courses = new ArrayList<>(chunk.size());
+        // results of the rows in courses, in the same order
+        List<CourseImportResultDTO> written = new ArrayList<>(chunk.size());
+
+        for(Tuple2<Long, CourseRequestDTO> row : chunk){
+            CourseRequestDTO courseRequestDTO = row.getT2();
+            CourseImportResultDTO result = CourseImportResultDTO.builder().index(row.getT1()).build();
+            results.add(result);
+
+            if(isBlank(courseRequestDTO.getCourseNumber()) || isBlank(courseRequestDTO.getCourseName())){
+                result.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                result.setMessage("The course number and course name of a course are required");
+                continue;
+            }
+
+            Course course = EntityDTOUtils.toCourseEntity(courseRequestDTO);
+            course.setCourseId(idGenerator.generate());
+            course.setVersion(0L);
+            courses.add(course);
+            written.add(result);
+        }
+
+        return courseRepository.insertAllUnordered(courses)
+                .flatMapIterable(failures -> {
+                    for(int i = 0; i < written.size(); i++){
+                        CourseImportResultDTO result = written.get(i);
+                        String failure = failures.get(i);
+                        if(failure == null){
+                            result.setStatus(HttpStatus.CREATED.value());
+                            result.setCourseId(courses.get(i).getCourseId());
+                        } else {
+                            result.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                            result.setMessage(failure);
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     @Override
     public Mono<CourseResponseDTO> updateCourse(Mono<CourseRequestDTO> courseRequestDTO, String courseId) {
 
@@ -54,17 +156,15 @@ public class CourseServiceImpl implements CourseService{
             return Mono.error(new InvalidInputException("The course ID needs to be 36 characters: " + courseId));
         }
 
-        return courseRepository.findCourseByCourseId(courseId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Course with this Id wasn't found: " + courseId)))
-                .flatMap(course ->
-            courseRequestDTO
-                    .map(EntityDTOUtils::toCourseEntity)
-                    .doOnNext(e -> {
-                        e.setCourseId(course.getCourseId());
-                        e.setId(course.getId());
-
-        }))
-                .flatMap(courseRepository::save)
+        return courseRequestDTO
+                .map(EntityDTOUtils::toCourseEntity)
+                .flatMap(course -> courseRepository.updateCourseByCourseId(courseId, course)
+                        // nothing matched: tell a missing course apart from a stale version
+                        .switchIfEmpty(Mono.defer(() -> courseRepository.findCourseByCourseId(courseId)
+                                .flatMap(existing -> Mono.<Course>error(new ConflictException(
+                                        "The course " + courseId + " was modified concurrently, expected version "
+                                                + course.getVersion() + " but found " + existing.getVersion())))
+                                .switchIfEmpty(Mono.error(new NotFoundException("Course with this Id wasn't found: " + courseId))))))
                 .map(EntityDTOUtils::toCourseResponseDTO);
     }
 
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 
 @Data
 @Builder
@@ -12,15 +14,18 @@ import org.springframework.data.annotation.Id;
 @NoArgsConstructor
 public class Course {
 
+    // the business id is the _id, so it needs no index of its own
     @Id
-    private String id;
-
     private String courseId;
     private String courseNumber;
     private String courseName;
     private Integer numHours;
     private Double numCredits;
+    @Indexed
     private String department;
 
+    @Version
+    private Long version;
+
 
 }
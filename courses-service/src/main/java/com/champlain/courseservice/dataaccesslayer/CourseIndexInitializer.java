@@ -0,0 +1,93 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Prepares the course collection when the application starts, before the CommandLineRunners load any data.
+ * The courseId is stored as the _id, so the only secondary index left is the one declared with @Indexed.
+ * Documents from the old layout (generated ObjectId _id plus a courseId field) are moved to the new one
+ * when app.storage.migrate-legacy-ids is set, and the old courseId index is dropped once nothing uses it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseIndexInitializer {
+
+    private static final String LEGACY_ID_FIELD = "courseId";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    @Value("${app.storage.migrate-legacy-ids:false}")
+    private boolean migrateLegacyIds;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStartup() {
+        Mono<Long> migration = migrateLegacyIds ? migrateLegacyIds() : Mono.just(0L);
+        migration.then(ensureIndexes()).block();
+    }
+
+    public Mono<Void> ensureIndexes() {
+        ReactiveIndexOperations indexOps = reactiveMongoTemplate.indexOps(Course.class);
+
+        return Flux.fromIterable(new MongoPersistentEntityIndexResolver(mongoMappingContext).resolveIndexFor(Course.class))
+                .concatMap(indexOps::ensureIndex)
+                .thenMany(indexOps.getIndexInfo())
+                .filter(index -> index.isIndexForFields(List.of(LEGACY_ID_FIELD)))
+                .concatMap(index -> legacyDocuments().hasElements()
+                        .filter(remaining -> !remaining)
+                        .flatMap(unused -> {
+                            log.info("Dropping index {}, the courseId is stored as the _id", index.getName());
+                            return indexOps.dropIndex(index.getName());
+                        }))
+                .then();
+    }
+
+    /**
+     * Copies every old-layout document to one keyed by its courseId, then deletes the original.
+     * Safe to re-run: the copy is an upsert and a document is only deleted after its copy exists.
+     */
+    public Mono<Long> migrateLegacyIds() {
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Course.class))
+                .flatMapMany(collection -> Flux.from(collection.find(Filters.exists(LEGACY_ID_FIELD)))
+                        .concatMap(legacy -> migrate(collection, legacy)))
+                .count()
+                .doOnNext(migrated -> {
+                    if (migrated > 0)
+                        log.info("Moved {} course documents to the courseId _id layout", migrated);
+                });
+    }
+
+    private Mono<Void> migrate(MongoCollection<Document> collection, Document legacy) {
+        Object legacyId = legacy.get("_id");
+        Document migrated = new Document(legacy);
+        migrated.remove(LEGACY_ID_FIELD);
+        migrated.put("_id", legacy.getString(LEGACY_ID_FIELD));
+
+        return Mono.from(collection.replaceOne(Filters.eq("_id", migrated.get("_id")), migrated, new ReplaceOptions().upsert(true)))
+                .then(Mono.from(collection.deleteOne(Filters.eq("_id", legacyId))))
+                .then();
+    }
+
+    private Flux<Document> legacyDocuments() {
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Course.class))
+                .flatMapMany(collection -> collection.find(Filters.exists(LEGACY_ID_FIELD)).limit(1));
+    }
+}
@@ -1,10 +1,15 @@
 package com.champlain.courseservice.dataaccesslayer;
 
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface CourseRepository extends ReactiveMongoRepository<Course, String> {
+import java.util.Collection;
+
+public interface CourseRepository extends ReactiveMongoRepository<Course, String>, CourseRepositoryCustom {
 
     Mono<Course> findCourseByCourseId(String courseId);
 
+    Flux<Course> findAllCourseByCourseIdIn(Collection<String> courseIds);
+
 }
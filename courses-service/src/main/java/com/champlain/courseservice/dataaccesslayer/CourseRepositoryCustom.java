@@ -0,0 +1,22 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CourseRepositoryCustom {
+
+    /**
+     * Overwrites the editable fields of the course with the given courseId in one findAndModify and emits the new document.
+     * When course.version is set the update only applies to that version. Completes empty when nothing matched.
+     */
+    Mono<Course> updateCourseByCourseId(String courseId, Course course);
+
+    /**
+     * Inserts the courses with one unordered insertMany: a document that fails does not stop the others.
+     * Emits the position in the list and error message of every document that was not inserted, empty when all were.
+     */
+    Mono<Map<Integer, String>> insertAllUnordered(List<Course> courses);
+
+}
@@ -0,0 +1,63 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Course> updateCourseByCourseId(String courseId, Course course) {
+        Criteria criteria = Criteria.where("courseId").is(courseId);
+        if (course.getVersion() != null)
+            criteria = criteria.and("version").is(course.getVersion());
+
+        Update update = new Update()
+                .set("courseNumber", course.getCourseNumber())
+                .set("courseName", course.getCourseName())
+                .set("numHours", course.getNumHours())
+                .set("numCredits", course.getNumCredits())
+                .set("department", course.getDepartment())
+                .inc("version", 1);
+
+        return reactiveMongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true).upsert(false), Course.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Course> courses) {
+        if (courses.isEmpty())
+            return Mono.just(Map.of());
+
+        // ReactiveMongoTemplate.insertAll is ordered and stops at the first failure, so the documents go to the
+        // driver directly; written by the template's converter they look exactly like the ones insert() creates
+        List<Document> documents = courses.stream()
+                .map(course -> {
+                    Document document = new Document();
+                    reactiveMongoTemplate.getConverter().write(course, document);
+                    return document;
+                })
+                .toList();
+
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Course.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(MongoBulkWriteException.class, ex -> Mono.just(ex.getWriteErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage))));
+    }
+}
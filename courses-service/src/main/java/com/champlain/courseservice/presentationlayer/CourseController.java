@@ -11,6 +11,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URISyntaxException;
+import java.util.List;
 
 @RestController
 @RequestMapping("courses")
@@ -32,6 +33,12 @@ public class CourseController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<CourseLookupResponseDTO>> getCoursesByCourseIds(@RequestBody List<String> courseIds){
+        return courseService.getCoursesByCourseIds(courseIds)
+                .map(lookup -> ResponseEntity.ok().body(lookup));
+    }
+
     @PostMapping()
     public Mono<ResponseEntity<CourseResponseDTO>> addCourse(@RequestBody Mono<CourseRequestDTO> courseRequestBody) throws URISyntaxException {
         return courseService.addCourse(courseRequestBody).map(c -> ResponseEntity.status(HttpStatus.CREATED).body(c))
@@ -39,6 +46,12 @@ public class CourseController {
 
     }
 
+    // one course request per NDJSON line in, one result per line out, in the same order
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CourseImportResultDTO> importCourses(@RequestBody Flux<CourseRequestDTO> courseRequestBodies){
+        return courseService.importCourses(courseRequestBodies);
+    }
+
     @PutMapping("/{courseId}")
     public Mono<ResponseEntity<CourseResponseDTO>> updateCourse(@PathVariable String courseId, @RequestBody Mono<CourseRequestDTO> courseRequestBody){
         return this.courseService.updateCourse(courseRequestBody, courseId)
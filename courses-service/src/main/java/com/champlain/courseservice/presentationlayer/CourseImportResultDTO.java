@@ -0,0 +1,22 @@
+package com.champlain.courseservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportResultDTO {
+
+    // zero-based line of the request in the uploaded stream
+    private long index;
+    // 201 with the new courseId, 422 with the reason otherwise
+    private int status;
+    private String courseId;
+    private String message;
+
+
+}
@@ -16,6 +16,8 @@ public class CourseRequestDTO {
     private Integer numHours;
     private Double numCredits;
     private String department;
+    // optional: only update when the stored document still has this version
+    private Long version;
 
 
 }
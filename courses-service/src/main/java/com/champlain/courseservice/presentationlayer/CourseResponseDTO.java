@@ -17,5 +17,6 @@ public class CourseResponseDTO {
     private Integer numHours;
     private Double numCredits;
     private String department;
+    private Long version;
 
 }
@@ -0,0 +1,20 @@
+package com.champlain.courseservice.utils;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.presentationlayer.CourseRequestDTO;
+import com.champlain.courseservice.presentationlayer.CourseResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface CourseMapper {
+
+    CourseMapper INSTANCE = Mappers.getMapper(CourseMapper.class);
+
+    CourseResponseDTO toCourseResponseDTO(Course course);
+
+    @Mapping(target = "courseId", ignore = true)
+    Course toCourseEntity(CourseRequestDTO courseRequestDTO);
+
+}
@@ -1,22 +1,31 @@
 package com.champlain.courseservice.utils;
 
 
+import com.champlain.courseservice.utils.exceptions.ConflictException;
 import com.champlain.courseservice.utils.exceptions.InvalidInputException;
 import com.champlain.courseservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalControllerExceptionHandler {
 
+    // optional so that web slice tests without a registry still load the advice
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @ResponseStatus(NOT_FOUND)
     @ExceptionHandler(NotFoundException.class)
     public HttpErrorInfo handleNotFoundException(ServerHttpRequest request, Exception ex) {
@@ -29,6 +38,12 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(ConflictException.class)
+    public HttpErrorInfo handleConflictException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, ServerHttpRequest request, Exception ex) {
        //final String path = request.getDescription(false);
 
@@ -36,6 +51,10 @@ public class GlobalControllerExceptionHandler {
         final String message = ex.getMessage();
         log.debug("Returning HTTP status: {} for path: {}, message: {}", httpStatus, path, message);
 
+        meterRegistry.ifAvailable(registry -> registry.counter("http.server.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(httpStatus.value())).increment());
+
         return new HttpErrorInfo(httpStatus, path, message);
     }
 
@@ -0,0 +1,23 @@
+package com.champlain.courseservice.utils;
+
+import java.util.UUID;
+
+/**
+ * Source of new business ids. Every strategy returns the canonical 36-char UUID string.
+ */
+public interface IdGenerator {
+
+    String generate();
+
+    enum Strategy {
+        RANDOM,
+        TIME_ORDERED
+    }
+
+    static IdGenerator of(Strategy strategy) {
+        return switch (strategy) {
+            case RANDOM -> () -> UUID.randomUUID().toString();
+            case TIME_ORDERED -> new TimeOrderedUuidGenerator();
+        };
+    }
+}
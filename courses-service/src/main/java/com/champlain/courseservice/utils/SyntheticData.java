@@ -0,0 +1,54 @@
+package com.champlain.courseservice.utils;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The courses of the synthetic dataset. Course i gets the same courseId, number and name for a given random seed on
+ * every run; enrollments-service seeds its enrollments from the same functions, so its SyntheticData has to stay in
+ * step with this one. Enrollments favour the courses with the lowest index.
+ */
+public final class SyntheticData {
+
+    // four subjects per department
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Humanities", "Business"};
+
+    private static final String[] SUBJECTS = {"Web Services", "Databases", "Algorithms", "Operating Systems",
+            "Calculus", "Linear Algebra", "Statistics", "Discrete Mathematics",
+            "World History", "Philosophy", "Literature", "Ethics",
+            "Accounting", "Marketing", "Economics", "Management"};
+
+    private static final int[] HOURS = {45, 60, 75, 90};
+
+    private SyntheticData() {
+    }
+
+    public static String courseId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("course:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public static String courseNumber(int index) {
+        return String.format("420-%04d", index);
+    }
+
+    public static String courseName(int index) {
+        String subject = SUBJECTS[index % SUBJECTS.length];
+        return index < SUBJECTS.length ? subject : subject + " " + (index / SUBJECTS.length + 1);
+    }
+
+    public static Course course(long randomSeed, int index) {
+        int numHours = HOURS[new SplittableRandom(randomSeed + index).nextInt(HOURS.length)];
+        return Course.builder()
+                .courseId(courseId(randomSeed, index))
+                .courseNumber(courseNumber(index))
+                .courseName(courseName(index))
+                .department(DEPARTMENTS[(index % SUBJECTS.length) / 4])
+                .numHours(numHours)
+                .numCredits(numHours / 30.0)
+                .version(0L)
+                .build();
+    }
+}
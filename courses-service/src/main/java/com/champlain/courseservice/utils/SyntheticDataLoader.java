@@ -0,0 +1,58 @@
+package com.champlain.courseservice.utils;
+
+import com.champlain.courseservice.dataaccesslayer.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Seeds app.seed.courses synthetic courses (see SyntheticData) when the seed profile is active, in unordered
+ * insertMany chunks. Courses that are already stored, e.g. in a database kept from an earlier run, are counted and
+ * left alone. The runner blocks until the last chunk is written: Spring Boot only switches the readiness state to
+ * ACCEPTING_TRAFFIC once the application runners have returned, so /actuator/health/readiness stays down while
+ * seeding.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    private final CourseRepository courseRepository;
+
+    @Value("${app.seed.courses:500}")
+    private int courses;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.seed.timeout:10m}")
+    private Duration timeout;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        Integer alreadyStored = Flux.range(0, courses)
+                .map(index -> SyntheticData.course(randomSeed, index))
+                .buffer(chunkSize)
+                .concatMap(courseRepository::insertAllUnordered)
+                .map(Map::size)
+                .reduce(0, Integer::sum)
+                .block(timeout);
+
+        log.info("Seeded {} courses in {} ms, {} were already stored", courses - alreadyStored,
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), alreadyStored);
+    }
+}
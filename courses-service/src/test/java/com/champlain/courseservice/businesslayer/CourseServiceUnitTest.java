@@ -4,6 +4,7 @@ import com.champlain.courseservice.dataaccesslayer.Course;
 import com.champlain.courseservice.dataaccesslayer.CourseRepository;
 import com.champlain.courseservice.presentationlayer.CourseRequestDTO;
 import com.champlain.courseservice.presentationlayer.CourseResponseDTO;
+import com.champlain.courseservice.utils.exceptions.ConflictException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
@@ -171,14 +173,13 @@ class CourseServiceUnitTest {
 
         Course existingCourse = Course.builder()
                 .courseId(validCourseId)
-                .id("123")
                 .build();
 
         Course updatedCourseEntity = Course.builder()
                 .build();
 
         when(courseRepository.findCourseByCourseId(validCourseId)).thenReturn(Mono.just(existingCourse));
-        when(courseRepository.save(any(Course.class))).thenReturn(Mono.just(updatedCourseEntity));
+        when(courseRepository.updateCourseByCourseId(eq(validCourseId), any(Course.class))).thenReturn(Mono.just(updatedCourseEntity));
 
         // Act and Assert
         StepVerifier
@@ -189,8 +190,28 @@ class CourseServiceUnitTest {
                 .verifyComplete();
     }
 
+    @Test
+    void updateCourseById_StaleVersion_ShouldReturnInvalidInput() {
+        // Arrange
+        String validCourseId = "c2db7b50-26b5-43f0-ab03-8dc5dab937fb";
+        CourseRequestDTO courseRequestDTO = CourseRequestDTO.builder()
+                .version(1L)
+                .build();
 
+        Course currentCourse = Course.builder()
+                .courseId(validCourseId)
+                .version(2L)
+                .build();
 
+        when(courseRepository.updateCourseByCourseId(eq(validCourseId), any(Course.class))).thenReturn(Mono.empty());
+        when(courseRepository.findCourseByCourseId(validCourseId)).thenReturn(Mono.just(currentCourse));
 
+        // Act and Assert
+        StepVerifier
+                .create(courseService.updateCourse(Mono.just(courseRequestDTO), validCourseId))
+                .expectErrorMatches(error -> error instanceof ConflictException
+                        && error.getMessage().contains("modified concurrently"))
+                .verify();
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(CourseIndexInitializer.class)
+class CourseRepositoryIndexTest {
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    CourseIndexInitializer courseIndexInitializer;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    public void setupDB(){
+        StepVerifier
+                .create(courseRepository.deleteAll()
+                        .then(courseIndexInitializer.ensureIndexes())
+                        .thenMany(Flux.range(0, 200).map(this::buildCourse).concatMap(courseRepository::insert)))
+                .expectNextCount(200)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findCourseByCourseId_shouldUseIdIndex(){
+        assertNoCollectionScan(new Document("_id", "courseId_100"));
+    }
+
+    @Test
+    public void findAllCourseByCourseIdIn_shouldUseIdIndex(){
+        assertNoCollectionScan(new Document("_id", new Document("$in", List.of("courseId_1", "courseId_2"))));
+    }
+
+    @Test
+    public void findByDepartment_shouldUseIndexScan(){
+        assertIndexScan(new Document("department", "department_3"));
+    }
+
+    @Test
+    public void insertDuplicateCourseId_shouldBeRejected(){
+        StepVerifier
+                .create(courseRepository.insert(buildCourse(100)))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    public void migrateLegacyIds_shouldKeyOldLayoutDocumentsByCourseId(){
+        //arrange
+        Document legacy = new Document("_id", new ObjectId()).append("courseId", "courseId_legacy").append("courseName", "Web Services").append("department", "department_1");
+        Mono<?> insertLegacy = reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Course.class))
+                .flatMap(collection -> Mono.from(collection.insertOne(legacy)));
+
+        //act
+        StepVerifier
+                .create(insertLegacy.then(courseIndexInitializer.migrateLegacyIds()))
+                .expectNext(1L)
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(courseRepository.findCourseByCourseId("courseId_legacy"))
+                .assertNext(course -> assertThat(course.getCourseId()).isEqualTo("courseId_legacy"))
+                .verifyComplete();
+
+        StepVerifier
+                .create(courseRepository.count())
+                .expectNext(201L)
+                .verifyComplete();
+    }
+
+    private void assertIndexScan(Document filter){
+        StepVerifier
+                .create(winningPlan(filter))
+                .assertNext(plan -> assertThat(plan).contains("IXSCAN").doesNotContain("COLLSCAN"))
+                .verifyComplete();
+    }
+
+    // equality on _id is answered by the IDHACK stage, which never shows up as an IXSCAN
+    private void assertNoCollectionScan(Document filter){
+        StepVerifier
+                .create(winningPlan(filter))
+                .assertNext(plan -> assertThat(plan).doesNotContain("COLLSCAN"))
+                .verifyComplete();
+    }
+
+    private Mono<String> winningPlan(Document filter){
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Course.class))
+                .flatMap(collection -> Mono.from(collection.find(filter).explain()))
+                .map(plan -> plan.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson());
+    }
+
+    private Course buildCourse(int i){
+        return Course.builder()
+                .courseId("courseId_" + i)
+                .courseNumber("420-N" + i)
+                .courseName("Web Services")
+                .numHours(90)
+                .numCredits(4.0)
+                .department("department_" + (i % 10))
+                .build();
+    }
+}
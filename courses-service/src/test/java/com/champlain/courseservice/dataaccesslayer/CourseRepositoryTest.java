@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -85,6 +87,69 @@ class CourseRepositoryTest {
     }
 
 
+    @Test
+    public void updateCourseByCourseId_matchingVersion_shouldUpdateAndBumpVersion(){
+        //arrange
+        Course changes = buildCourse("Cloud Computing", null);
+        changes.setVersion(course1.getVersion());
+
+        //act and assert
+        StepVerifier
+                .create(courseRepository.updateCourseByCourseId(course1.getCourseId(), changes))
+                .assertNext(course -> {
+                    assertThat(course.getCourseId()).isEqualTo(course1.getCourseId());
+                    assertThat(course.getCourseName()).isEqualTo("Cloud Computing");
+                    assertThat(course.getVersion()).isEqualTo(course1.getVersion() + 1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void updateCourseByCourseId_staleVersion_shouldNotUpdate(){
+        //arrange
+        Course changes = buildCourse("Cloud Computing", null);
+        changes.setVersion(course1.getVersion() + 1);
+
+        //act
+        StepVerifier
+                .create(courseRepository.updateCourseByCourseId(course1.getCourseId(), changes))
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(courseRepository.findCourseByCourseId(course1.getCourseId()))
+                .assertNext(course -> {
+                    assertThat(course.getCourseName()).isEqualTo(course1.getCourseName());
+                    assertThat(course.getVersion()).isEqualTo(course1.getVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void insertAllUnordered_oneDuplicateId_shouldInsertTheOthers(){
+        //arrange
+        Course course3 = buildCourse("Networking", "courseId_3");
+        Course duplicate = buildCourse("Copy", course1.getCourseId());
+        Course course4 = buildCourse("Security", "courseId_4");
+
+        //act
+        StepVerifier
+                .create(courseRepository.insertAllUnordered(List.of(course3, duplicate, course4)))
+                .assertNext(failures -> assertThat(failures).containsOnlyKeys(1))
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(courseRepository.findCourseByCourseId("courseId_4"))
+                .assertNext(course -> assertThat(course.getCourseName()).isEqualTo("Security"))
+                .verifyComplete();
+
+        StepVerifier
+                .create(courseRepository.count())
+                .expectNext(4L)
+                .verifyComplete();
+    }
+
     private Course buildCourse(String courseName, String courseId){
         return Course.builder()
                 .courseId(courseId)
@@ -11,10 +11,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -109,6 +112,42 @@ class CourseControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("The course ID needs to be 36 characters: " + invalidIdTest);
     }
 
+    @Test
+    public void getCoursesByCourseIds_shouldReturnMatchesAndReportMissingIds(){
+        String missingCourseId = UUID.randomUUID().toString();
+
+        webTestClient.post()
+                .uri("/courses/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(course1.getCourseId(), course3.getCourseId(), missingCourseId, course1.getCourseId()))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CourseLookupResponseDTO.class)
+                .value(lookup -> {
+                    assertThat(lookup.getCourses()).extracting(CourseResponseDTO::getCourseId)
+                            .containsExactlyInAnyOrder(course1.getCourseId(), course3.getCourseId());
+                    assertThat(lookup.getMissingCourseIds()).containsExactly(missingCourseId);
+                });
+    }
+
+    @Test
+    public void getCoursesByCourseIds_tooManyIds_throwsInvalidInputException(){
+        List<String> courseIds = IntStream.range(0, 501)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        webTestClient.post()
+                .uri("/courses/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(courseIds)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("A lookup can contain at most 500 course IDs: 501");
+    }
+
     @Test
     public void addNewCourseWithValidValues_ShouldSucceed(){
         CourseRequestDTO courseRequestDTO = CourseRequestDTO.builder()
@@ -137,6 +176,51 @@ class CourseControllerIntegrationTest {
                 });
     }
 
+    @Test
+    public void importCourses_ndjsonStream_shouldReturnOneResultPerRowInOrder(){
+        //arrange
+        List<CourseRequestDTO> catalogue = IntStream.range(0, 2500)
+                .mapToObj(i -> CourseRequestDTO.builder()
+                        .courseNumber("420-" + i)
+                        .courseName(i == 1200 ? null : "Course " + i)
+                        .numHours(60)
+                        .numCredits(2.0)
+                        .department("Computer Science")
+                        .build())
+                .toList();
+
+        //act
+        List<CourseImportResultDTO> results = webTestClient.post()
+                .uri("/courses/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.fromIterable(catalogue), CourseRequestDTO.class)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CourseImportResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        //assert
+        assertNotNull(results);
+        assertEquals(2500, results.size());
+        assertEquals(1200, results.get(1200).getIndex());
+        assertEquals(422, results.get(1200).getStatus());
+        assertNull(results.get(1200).getCourseId());
+        assertThat(results).filteredOn(result -> result.getStatus() == 201).hasSize(2499);
+
+        StepVerifier
+                .create(courseRepository.count())
+                .expectNext(DB_SIZE + 2499)
+                .verifyComplete();
+
+        StepVerifier
+                .create(courseRepository.findCourseByCourseId(results.get(2499).getCourseId()))
+                .assertNext(course -> assertEquals("Course 2499", course.getCourseName()))
+                .verifyComplete();
+    }
+
     @Test
     public void updateCourse_withValidId() {
         String validCourseNumber = "12345";
@@ -0,0 +1,43 @@
+package com.champlain.courseservice.utils;
+
+import com.champlain.courseservice.dataaccesslayer.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"spring.data.mongodb.port: 0", "app.seed.courses=40", "app.seed.chunk-size=15"})
+@ActiveProfiles({"default", "seed"})
+class SyntheticDataLoaderTest {
+
+    @Autowired
+    SyntheticDataLoader syntheticDataLoader;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Test
+    void run_again_shouldKeepTheSameCourses(){
+        //act
+        syntheticDataLoader.run(new DefaultApplicationArguments());
+
+        //assert
+        StepVerifier
+                .create(courseRepository.count())
+                .expectNext(40L)
+                .verifyComplete();
+
+        StepVerifier
+                .create(courseRepository.findCourseByCourseId(SyntheticData.courseId(42, 22)))
+                .consumeNextWith(course -> {
+                    assertEquals("420-0022", course.getCourseNumber());
+                    assertEquals("Statistics 2", course.getCourseName());
+                    assertEquals("Mathematics", course.getDepartment());
+                })
+                .verifyComplete();
+    }
+}
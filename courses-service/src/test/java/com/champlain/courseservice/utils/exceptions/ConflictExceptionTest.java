@@ -0,0 +1,40 @@
+package com.champlain.courseservice.utils.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictExceptionTest {
+
+    @Test
+    public void testDefaultConstructor() {
+        ConflictException exception = new ConflictException();
+        assertNull(exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testMessageConstructor() {
+        String errorMessage = "Modified concurrently!";
+        ConflictException exception = new ConflictException(errorMessage);
+        assertEquals(errorMessage, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+    @Test
+    public void testCauseConstructor() {
+        Throwable cause = new Throwable("Test cause");
+        ConflictException exception = new ConflictException(cause);
+        Assertions.assertEquals("java.lang.Throwable: Test cause", exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+    @Test
+    public void testMessageAndCauseConstructor() {
+        String errorMessage = "Modified concurrently!";
+        Throwable cause = new IllegalStateException("Stale version");
+        ConflictException exception = new ConflictException(errorMessage, cause);
+        assertEquals(errorMessage, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+}
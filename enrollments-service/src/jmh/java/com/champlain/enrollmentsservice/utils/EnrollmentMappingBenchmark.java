@@ -0,0 +1,52 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnrollmentMappingBenchmark {
+
+    private Enrollment enrollment;
+
+    @Setup
+    public void setUp() {
+        enrollment = Enrollment.builder()
+                .id(1)
+                .enrollmentId(UUID.fromString("06a7d573-bcab-4db3-956f-773324b92a80"))
+                .enrollmentYear(2021)
+                .semester(Semester.FALL)
+                .studentId(UUID.fromString("c3540a89-cb47-4c96-888e-ff96708db4d8"))
+                .studentFirstName("Christine")
+                .studentLastName("Gerard")
+                .courseId(UUID.fromString("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223"))
+                .courseNumber("N45-LA")
+                .courseName("Web Services")
+                .build();
+    }
+
+    @Benchmark
+    public EnrollmentResponseDTO toResponseDTO_beanUtils() {
+        EnrollmentResponseDTO enrollmentResponseDTO = new EnrollmentResponseDTO();
+        BeanUtils.copyProperties(enrollment, enrollmentResponseDTO);
+        return enrollmentResponseDTO;
+    }
+
+    @Benchmark
+    public EnrollmentResponseDTO toResponseDTO_mapStruct() {
+        return EnrollmentMapper.INSTANCE.toEnrollmentResponseDTO(enrollment);
+    }
+}
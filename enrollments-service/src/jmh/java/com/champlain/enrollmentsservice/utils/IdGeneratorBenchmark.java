@@ -0,0 +1,36 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+// 4 threads share one generator, the way request threads share the IdGenerator bean
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class IdGeneratorBenchmark {
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdGenerator.Strategy strategy;
+
+    private IdGenerator idGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = IdGenerator.of(strategy);
+    }
+
+    @Benchmark
+    public String generate() {
+        return idGenerator.generate();
+    }
+}
@@ -0,0 +1,86 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts batches of ids into an H2 table with the same unique enrollmentId index as schema.sql.
+ * Each iteration starts from an empty database and prints how much disk the table and its indexes
+ * take afterwards, so the run shows both the insert rate and the index growth of each strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdGenerator.Strategy strategy;
+
+    private IdGenerator idGenerator;
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        idGenerator = IdGenerator.of(strategy);
+        directory = Files.createTempDirectory("id-insert-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("enrollments"), "user", "pwd");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE enrollments (id SERIAL PRIMARY KEY, enrollmentId VARCHAR(36))");
+            statement.execute("CREATE UNIQUE INDEX ux_enrollments_enrollment_id ON enrollments (enrollmentId)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO enrollments (enrollmentId) VALUES (?)");
+        rows = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, idGenerator.generate());
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH_SIZE;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('ENROLLMENTS')")) {
+            size.next();
+            System.out.printf("%n%s: %d rows, %d bytes for the table and its indexes (%.1f bytes/row)%n",
+                    strategy, rows, size.getLong(1), (double) size.getLong(1) / rows);
+        }
+        connection.createStatement().execute("SHUTDOWN");
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
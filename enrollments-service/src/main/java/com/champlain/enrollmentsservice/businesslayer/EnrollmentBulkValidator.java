@@ -0,0 +1,125 @@
+package com.champlain.enrollmentsservice.businesslayer;
+
+import com.champlain.enrollmentsservice.domainclientlayer.CourseClient;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentClient;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import com.champlain.enrollmentsservice.utils.EntityDTOUtils;
+import com.champlain.enrollmentsservice.utils.IdGenerator;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Validates and denormalizes a chunk of bulk enrollment rows. The distinct student and course ids of the chunk are
+ * checked with one lookup per service, instead of two lookups per row; every pending row then either gets its new
+ * Enrollment or fails with the status a single POST /enrollments would have answered.
+ */
+@Component
+@RequiredArgsConstructor
+public class EnrollmentBulkValidator {
+
+    private final StudentClient studentClient;
+    private final CourseClient courseClient;
+    private final IdGenerator idGenerator;
+
+    @Value("${app.enrollment-validation.timeout:5s}")
+    private Duration validationTimeout;
+
+    @Value("${app.enrollments.bulk.lookup-size:500}")
+    private int lookupSize;
+
+    public Mono<Void> validate(List<RequestContextBulk> chunk) {
+        checkRequests(chunk);
+
+        List<RequestContextBulk> pending = chunk.stream().filter(RequestContextBulk::isPending).toList();
+        Set<String> studentIds = pending.stream().map(rc -> rc.getEnrollmentRequestDTO().getStudentId()).collect(Collectors.toSet());
+        Set<String> courseIds = pending.stream().map(rc -> rc.getEnrollmentRequestDTO().getCourseId()).collect(Collectors.toSet());
+
+        return Mono.zip(
+                        lookupAll(studentIds, studentClient::getStudentsByStudentIds, StudentResponseDTO::getStudentId),
+                        lookupAll(courseIds, courseClient::getCoursesByCourseIds, CourseResponseDTO::getCourseId))
+                .timeout(validationTimeout)
+                .doOnNext(references -> pending.forEach(rc -> resolveReferences(rc, references.getT1(), references.getT2())))
+                // the rows of this chunk cannot be validated, the following chunks may still be; any other error is a bug
+                // and ends the stream
+                .onErrorResume(EnrollmentBulkValidator::isDownstreamFailure, ex -> {
+                    pending.forEach(rc -> rc.fail(HttpStatus.SERVICE_UNAVAILABLE, "The enrollment could not be validated: " + ex.getMessage()));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static boolean isDownstreamFailure(Throwable ex) {
+        return ex instanceof ServiceUnavailableException || ex instanceof TimeoutException || ex instanceof WebClientException;
+    }
+
+    // Rejects incomplete rows and rows that repeat an earlier row of the same chunk; a multi-row insert would
+    // otherwise fail on the duplicate.
+    private void checkRequests(List<RequestContextBulk> chunk) {
+        Set<String> terms = new HashSet<>();
+        for(RequestContextBulk rc : chunk) {
+            if(!rc.isPending())
+                continue;
+            EnrollmentRequestDTO request = rc.getEnrollmentRequestDTO();
+            if(request.getEnrollmentYear() == null || request.getSemester() == null)
+                rc.fail(HttpStatus.UNPROCESSABLE_ENTITY, "The enrollment year and semester are required");
+            else if(!isUuid(request.getStudentId()))
+                rc.fail(HttpStatus.UNPROCESSABLE_ENTITY, "The studentId needs to be a UUID: " + request.getStudentId());
+            else if(!isUuid(request.getCourseId()))
+                rc.fail(HttpStatus.UNPROCESSABLE_ENTITY, "The courseId needs to be a UUID: " + request.getCourseId());
+            else if(!terms.add(request.getStudentId() + "|" + request.getCourseId() + "|" + request.getEnrollmentYear() + "|" + request.getSemester()))
+                rc.fail(HttpStatus.UNPROCESSABLE_ENTITY, EnrollmentServiceImpl.alreadyEnrolled(request.getStudentId(),
+                        request.getCourseId(), request.getSemester(), request.getEnrollmentYear()).getMessage());
+        }
+    }
+
+    private <T> Mono<Map<String, T>> lookupAll(Collection<String> ids, Function<Collection<String>, Flux<T>> lookup,
+                                               Function<T, String> idOf) {
+        return Flux.fromIterable(ids)
+                .buffer(lookupSize)
+                .concatMap(lookup)
+                .collectMap(idOf);
+    }
+
+    private void resolveReferences(RequestContextBulk rc, Map<String, StudentResponseDTO> students, Map<String, CourseResponseDTO> courses) {
+        EnrollmentRequestDTO request = rc.getEnrollmentRequestDTO();
+        StudentResponseDTO student = students.get(request.getStudentId());
+        CourseResponseDTO course = courses.get(request.getCourseId());
+
+        if(student == null)
+            rc.fail(HttpStatus.NOT_FOUND, "StudentId not found: " + request.getStudentId());
+        else if(course == null)
+            rc.fail(HttpStatus.NOT_FOUND, "CourseId not found: " + request.getCourseId());
+        else
+            rc.setEnrollment(EntityDTOUtils.toEnrollmentEntity(new RequestContextAdd(request, null, student, course), idGenerator.generate()));
+    }
+
+    private static boolean isUuid(String value) {
+        if(value == null)
+            return false;
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
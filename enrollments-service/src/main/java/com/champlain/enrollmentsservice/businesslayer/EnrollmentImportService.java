@@ -0,0 +1,10 @@
+package com.champlain.enrollmentsservice.businesslayer;
+
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentImportProgressDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import reactor.core.publisher.Flux;
+
+public interface EnrollmentImportService {
+
+    Flux<EnrollmentImportProgressDTO> importEnrollments(String importId, Flux<EnrollmentRequestDTO> enrollmentRequestDTOs);
+}
@@ -0,0 +1,145 @@
+package com.champlain.enrollmentsservice.businesslayer;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentImportChunk;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentImportChunkRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentImportProgressDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads historical enrollments chunk by chunk. Each chunk is validated and denormalized like a bulk POST, then
+ * written with EnrollmentRepository.importEnrollments (COPY on PostgreSQL) in one transaction together with its
+ * EnrollmentImportChunk row. Sending the same rows again under the same importId resumes the import: committed
+ * chunks are skipped and reported as such.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentImportServiceImpl implements EnrollmentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentImportServiceImpl.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentImportChunkRepository enrollmentImportChunkRepository;
+    private final EnrollmentBulkValidator enrollmentBulkValidator;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${app.enrollments.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public Flux<EnrollmentImportProgressDTO> importEnrollments(String importId, Flux<EnrollmentRequestDTO> enrollmentRequestDTOs) {
+
+        if(importId.isBlank() || importId.length() > 64){
+            return Flux.error(new InvalidInputException("The import ID needs to be between 1 and 64 characters: " + importId));
+        }
+
+        return enrollmentImportChunkRepository.findAllByImportId(importId)
+                .collectMap(EnrollmentImportChunk::getChunkIndex)
+                .flatMapMany(committedChunks -> Flux.defer(() -> {
+                    // with another chunk size the committed chunk indexes would skip or repeat rows
+                    Integer startedWith = committedChunks.values().stream()
+                            .map(EnrollmentImportChunk::getChunkSize)
+                            .filter(size -> size != chunkSize)
+                            .findFirst()
+                            .orElse(null);
+                    if(startedWith != null)
+                        return Flux.error(new InvalidInputException("The enrollment import " + importId + " was started with chunks of "
+                                + startedWith + " rows, it can only be resumed with app.enrollments.import.chunk-size=" + startedWith
+                                + " (currently " + chunkSize + ")"));
+
+                    AtomicLong totalImported = new AtomicLong();
+                    AtomicLong totalRejected = new AtomicLong();
+
+                    return enrollmentRequestDTOs
+                            .index()
+                            .map(row -> new RequestContextBulk(row.getT1(), row.getT2()))
+                            .buffer(chunkSize)
+                            .index()
+                            .concatMap(chunk -> committedChunks.containsKey(chunk.getT1())
+                                    ? Mono.just(skippedChunk(committedChunks.get(chunk.getT1())))
+                                    : importChunk(importId, chunk.getT1(), chunk.getT2()))
+                            .map(progress -> {
+                                progress.setTotalImported(totalImported.addAndGet(progress.getRowsImported()));
+                                progress.setTotalRejected(totalRejected.addAndGet(progress.getRowsRejected()));
+                                return progress;
+                            })
+                            .takeUntil(progress -> progress.getStopReason() != null);
+                }))
+                .doOnComplete(() -> log.info("Enrollment import {} ended", importId));
+    }
+
+    private Mono<EnrollmentImportProgressDTO> importChunk(String importId, long chunkIndex, List<RequestContextBulk> chunk) {
+        return enrollmentBulkValidator.validate(chunk)
+                .then(Mono.defer(() -> {
+                    // recording the chunk would make a resumed import skip rows that were never validated
+                    if(chunk.stream().anyMatch(rc -> rc.getStatus() == HttpStatus.SERVICE_UNAVAILABLE))
+                        return Mono.just(stoppedChunk(importId, chunkIndex));
+
+                    List<Enrollment> enrollments = chunk.stream()
+                            .filter(RequestContextBulk::isPending)
+                            .map(RequestContextBulk::getEnrollment)
+                            .toList();
+
+                    return enrollmentRepository.importEnrollments(enrollments)
+                            .flatMap(rowsImported -> enrollmentImportChunkRepository.save(EnrollmentImportChunk.builder()
+                                    .importId(importId)
+                                    .chunkIndex(chunkIndex)
+                                    .chunkSize(chunkSize)
+                                    .rowsImported(rowsImported)
+                                    .rowsRejected(chunk.size() - rowsImported)
+                                    .importedAt(LocalDateTime.now(ZoneOffset.UTC))
+                                    .build()))
+                            .as(transactionalOperator::transactional)
+                            .map(committed -> EnrollmentImportProgressDTO.builder()
+                                    .importId(importId)
+                                    .chunk(chunkIndex)
+                                    .rowsImported(committed.getRowsImported())
+                                    .rowsRejected(committed.getRowsRejected())
+                                    .rejections(chunk.stream()
+                                            .filter(rc -> !rc.isPending())
+                                            .map(RequestContextBulk::toResult)
+                                            .toList())
+                                    .build());
+                }));
+    }
+
+    // The 200 and the earlier progress lines are already sent, so the stop is reported as the last line rather than
+    // as an error that would only cut the response short.
+    private EnrollmentImportProgressDTO stoppedChunk(String importId, long chunkIndex) {
+        log.warn("Enrollment import {} stopped at chunk {}, the students or courses service is unavailable", importId, chunkIndex);
+        return EnrollmentImportProgressDTO.builder()
+                .importId(importId)
+                .chunk(chunkIndex)
+                .stopReason("The students or courses service is unavailable, send the same rows again with the same import ID to resume")
+                .resumeFromChunk(chunkIndex)
+                .rejections(List.of())
+                .build();
+    }
+
+    private EnrollmentImportProgressDTO skippedChunk(EnrollmentImportChunk committed) {
+        return EnrollmentImportProgressDTO.builder()
+                .importId(committed.getImportId())
+                .chunk(committed.getChunkIndex())
+                .skipped(true)
+                .rowsImported(committed.getRowsImported())
+                .rowsRejected(committed.getRowsRejected())
+                .rejections(List.of())
+                .build();
+    }
+}
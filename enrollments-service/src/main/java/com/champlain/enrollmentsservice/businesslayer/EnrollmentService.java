@@ -1,5 +1,7 @@
 package com.champlain.enrollmentsservice.businesslayer;
 
+import com.champlain.enrollmentsservice.presentationlayer.BulkEnrollmentResultDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentPageResponseDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
 import reactor.core.publisher.Flux;
@@ -10,7 +12,10 @@ import java.util.Map;
 public interface EnrollmentService {
 
     Flux<EnrollmentResponseDTO> getAllEnrollments(Map<String, String> queryParams);
+    Mono<EnrollmentPageResponseDTO> getEnrollmentPage(Map<String, String> queryParams);
     Mono<EnrollmentResponseDTO> getEnrollmentById(String enrollmentId);Mono<EnrollmentResponseDTO> addEnrollment(Mono<EnrollmentRequestDTO> enrollmentRequestDTO);
+    Flux<BulkEnrollmentResultDTO> addEnrollments(Flux<EnrollmentRequestDTO> enrollmentRequestDTOs);
+    Flux<BulkEnrollmentResultDTO> addEnrollmentLines(Flux<String> ndjsonLines);
     Mono<EnrollmentResponseDTO> updateEnrollment(Mono<EnrollmentRequestDTO> enrollmentRequestDTO, String enrollmentId);
     Mono<Void> deleteEnrollmentById(String enrollmentId);
 }
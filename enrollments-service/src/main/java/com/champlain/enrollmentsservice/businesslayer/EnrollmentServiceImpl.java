@@ -1,22 +1,50 @@
 package com.champlain.enrollmentsservice.businesslayer;
 
 import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentQuery;
 import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import com.champlain.enrollmentsservice.domainclientlayer.CourseClient;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
 import com.champlain.enrollmentsservice.domainclientlayer.StudentClient;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.presentationlayer.BulkEnrollmentResultDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentPageResponseDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
 import com.champlain.enrollmentsservice.utils.EntityDTOUtils;
+import com.champlain.enrollmentsservice.utils.IdGenerator;
+import com.champlain.enrollmentsservice.utils.PageTokenUtils;
+import com.champlain.enrollmentsservice.utils.StageTimings;
+import com.champlain.enrollmentsservice.utils.exceptions.ConflictException;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -24,31 +52,107 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final StudentClient studentClient;
     private final CourseClient courseClient;
+    private final MeterRegistry meterRegistry;
+    private final IdGenerator idGenerator;
+    private final EnrollmentBulkValidator enrollmentBulkValidator;
+    private final ObjectMapper objectMapper;
 
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    @Value("${app.enrollment-validation.timeout:5s}")
+    private Duration validationTimeout;
+
+    @Value("${app.enrollment-validation.max-reference-age:1h}")
+    private Duration maxReferenceAge;
+
+    @Value("${app.enrollments.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.enrollments.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.enrollments.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "enrollmentId", "enrollmentYear", "semester",
+            "studentId", "studentLastName", "courseId", "courseNumber", "courseName");
+
+    // Streams every matching row, or the first limit rows. Ordered by id, the stream is read as a series of keyset
+    // pages of maxPageSize rows, so neither a large table nor a slow client holds a database cursor open or more
+    // than one page in memory. Another order cannot be walked by keyset and needs a limit of at most maxPageSize.
     @Override
     public Flux<EnrollmentResponseDTO> getAllEnrollments(Map<String , String> querry) {
-        String studentid = querry.get("studentId");
-        String enrollmentYear = querry.get("enrollmentYear");
-        String courseId = querry.get("courseId");
-
-        if(studentid !=null) {
-            return enrollmentRepository.findAllEnrollmentByStudentId(studentid).map(EntityDTOUtils::toEnrollmentResponseDTO);
 
+        EnrollmentQuery enrollmentQuery;
+        long limit;
+        try {
+            enrollmentQuery = toEnrollmentQuery(querry);
+            enrollmentQuery.setSort(toSort(querry.get("sort")));
+            limit = querry.containsKey("limit") ? toPositiveInt("limit", querry.get("limit")) : Long.MAX_VALUE;
+            if(!isKeysetOrder(enrollmentQuery.getSort()) && limit > maxPageSize)
+                throw new InvalidInputException("Sorting by " + querry.get("sort") + " needs a limit of at most "
+                        + maxPageSize + ", or leave out the sort to stream every row in id order");
+        } catch (InvalidInputException ex) {
+            return Flux.error(ex);
         }
-        if(enrollmentYear != null) {
 
-            return enrollmentRepository.findAllEnrollmentByEnrollmentYear(Integer.valueOf(enrollmentYear)).map(EntityDTOUtils::toEnrollmentResponseDTO);
+        if(!isKeysetOrder(enrollmentQuery.getSort())) {
+            enrollmentQuery.setLimit((int) limit);
+            return enrollmentRepository.findAllEnrollmentMatching(enrollmentQuery)
+                    .map(EntityDTOUtils::toEnrollmentResponseDTO);
         }
 
+        return findEnrollmentPages(enrollmentQuery, limit)
+                .map(EntityDTOUtils::toEnrollmentResponseDTO);
+    }
+
+    private static boolean isKeysetOrder(Sort sort) {
+        Sort.Order first = sort.iterator().next();
+        return first.getProperty().equals("id") && first.isAscending();
+    }
+
+    // the next page is only queried once every row of the current one has been requested downstream
+    private Flux<Enrollment> findEnrollmentPages(EnrollmentQuery enrollmentQuery, long remaining) {
+        int pageSize = (int) Math.min(remaining, maxPageSize);
+        enrollmentQuery.setLimit(pageSize);
 
-        if(courseId !=null){
-            return enrollmentRepository.findAllEnrollmentByCourseId(courseId).map(EntityDTOUtils::toEnrollmentResponseDTO);
-        }
+        return enrollmentRepository.findAllEnrollmentMatching(enrollmentQuery)
+                .collectList()
+                .flatMapMany(page -> {
+                    Flux<Enrollment> rows = Flux.fromIterable(page);
+                    if(page.size() < pageSize || remaining == pageSize)
+                        return rows;
 
-        return enrollmentRepository.findAll()
-                .map(EntityDTOUtils::toEnrollmentResponseDTO);
+                    return rows.concatWith(Flux.defer(() -> {
+                        enrollmentQuery.setAfterId(page.get(page.size() - 1).getId());
+                        return findEnrollmentPages(enrollmentQuery, remaining - pageSize);
+                    }));
+                });
     }
 
+    @Override
+    public Mono<EnrollmentPageResponseDTO> getEnrollmentPage(Map<String, String> querry) {
+
+        EnrollmentQuery enrollmentQuery;
+        int pageSize;
+        try {
+            enrollmentQuery = toEnrollmentQuery(querry);
+            int limit = querry.containsKey("limit") ? toPositiveInt("limit", querry.get("limit")) : defaultPageSize;
+            pageSize = Math.min(limit, maxPageSize);
+            enrollmentQuery.setAfterId(PageTokenUtils.decode(querry.get("next")));
+        } catch (InvalidInputException ex) {
+            return Mono.error(ex);
+        }
+
+        // keyset pages are always ordered by id; one extra row tells whether there is a following page
+        enrollmentQuery.setSort(Sort.by("id"));
+        enrollmentQuery.setLimit(pageSize + 1);
+
+        return enrollmentRepository.findAllEnrollmentMatching(enrollmentQuery)
+                .collectList()
+                .map(enrollments -> toEnrollmentPage(enrollments, pageSize));
+    }
 
     @Override
     public Mono<EnrollmentResponseDTO> getEnrollmentById(String enrollmentId) {
@@ -57,7 +161,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             return Mono.error(new InvalidInputException("The enrollment ID needs to be 36 characters: " + enrollmentId));
         }
 
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
+        return Mono.fromSupplier(() -> toUuid("enrollment ID", enrollmentId))
+                .flatMap(enrollmentRepository::findEnrollmentByEnrollmentId)
                 .switchIfEmpty(Mono.error(new NotFoundException("No enrollment with this enrollmentId was found: " + enrollmentId)))
                 .map(EntityDTOUtils::toEnrollmentResponseDTO);
     }
@@ -66,15 +171,84 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     public Mono<EnrollmentResponseDTO> addEnrollment(Mono<EnrollmentRequestDTO> enrollmentRequestDTO) {
         return enrollmentRequestDTO
                 .map(RequestContextAdd::new)
-                .flatMap(this::studentRequestResponse)
-                .flatMap(this::courseRequestResponse)
-                .map(EntityDTOUtils::toEnrollmentEntity)
-                .map(enrollmentRepository::save)
-                .flatMap(entity -> entity)
+                .flatMap(this::validateReferences)
+                .flatMap(rc -> timeStage("mapping", Mono.fromSupplier(() -> EntityDTOUtils.toEnrollmentEntity(rc, idGenerator.generate()))))
+                .flatMap(enrollment -> timeStage("save", saveEnrollment(enrollment)))
                 .map(EntityDTOUtils::toEnrollmentResponseDTO);
 
     }
 
+    // Rows are handled in chunks of bulkChunkSize: EnrollmentBulkValidator checks the ids of a chunk with one lookup
+    // per service, and its valid rows are written with one multi-row INSERT. concatMap only asks
+    // for the next chunk once the current one is written and its results were consumed, so neither a slow
+    // database nor a slow client makes the service buffer the whole upload.
+    @Override
+    public Flux<BulkEnrollmentResultDTO> addEnrollments(Flux<EnrollmentRequestDTO> enrollmentRequestDTOs) {
+        return addEnrollmentRows(enrollmentRequestDTOs
+                .index()
+                .map(row -> new RequestContextBulk(row.getT1(), row.getT2())));
+    }
+
+    @Override
+    public Flux<BulkEnrollmentResultDTO> addEnrollmentLines(Flux<String> ndjsonLines) {
+        return addEnrollmentRows(ndjsonLines
+                .filter(line -> !line.isBlank())
+                .index()
+                .map(line -> toRequestContextBulk(line.getT1(), line.getT2())));
+    }
+
+    private Flux<BulkEnrollmentResultDTO> addEnrollmentRows(Flux<RequestContextBulk> rows) {
+        return rows
+                .buffer(bulkChunkSize)
+                .concatMap(this::addEnrollmentChunk);
+    }
+
+    // a line that is not an enrollment request only fails its own row, the rows around it are still added
+    private RequestContextBulk toRequestContextBulk(long index, String line) {
+        RequestContextBulk rc = new RequestContextBulk(index, null);
+        try {
+            rc.setEnrollmentRequestDTO(objectMapper.readValue(line, EnrollmentRequestDTO.class));
+            if(rc.getEnrollmentRequestDTO() == null)
+                rc.fail(HttpStatus.BAD_REQUEST, "Malformed enrollment request: the line holds no object");
+        } catch (JsonProcessingException ex) {
+            rc.fail(HttpStatus.BAD_REQUEST, "Malformed enrollment request: " + ex.getOriginalMessage());
+        }
+        return rc;
+    }
+
+    private Flux<BulkEnrollmentResultDTO> addEnrollmentChunk(List<RequestContextBulk> chunk) {
+        return timeStage("validation", enrollmentBulkValidator.validate(chunk))
+                .then(Mono.defer(() -> insertBulkEnrollments(chunk.stream().filter(RequestContextBulk::isPending).toList())))
+                .thenMany(Flux.fromIterable(chunk))
+                .map(RequestContextBulk::toResult);
+    }
+
+    // A row that clashes with an existing enrollment fails the whole statement; only then are the rows of the
+    // chunk inserted one by one to find out which of them are duplicates.
+    private Mono<Void> insertBulkEnrollments(List<RequestContextBulk> valid) {
+        if(valid.isEmpty())
+            return Mono.empty();
+
+        return timeStage("save", enrollmentRepository.insertEnrollments(valid.stream().map(RequestContextBulk::getEnrollment).toList()))
+                .doOnNext(rowsInserted -> valid.forEach(RequestContextBulk::created))
+                .then()
+                .onErrorResume(DataIntegrityViolationException.class, ex -> Flux.fromIterable(valid)
+                        .concatMap(this::insertBulkEnrollment)
+                        .then());
+    }
+
+    private Mono<Void> insertBulkEnrollment(RequestContextBulk rc) {
+        Enrollment enrollment = rc.getEnrollment();
+        return timeStage("save", enrollmentRepository.insertEnrollments(List.of(enrollment)))
+                .doOnNext(rowsInserted -> rc.created())
+                .onErrorResume(DataIntegrityViolationException.class, ex -> {
+                    rc.fail(HttpStatus.UNPROCESSABLE_ENTITY, alreadyEnrolled(enrollment.getStudentId().toString(),
+                            enrollment.getCourseId().toString(), enrollment.getSemester(), enrollment.getEnrollmentYear()).getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
     @Override
     public Mono<EnrollmentResponseDTO> updateEnrollment(Mono<EnrollmentRequestDTO> enrollmentRequestDTO, String enrollmentId) {
 
@@ -84,23 +258,43 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
         return enrollmentRequestDTO
                 .switchIfEmpty(Mono.error(new NotFoundException("No enrollment with this enrollmentId was found: " + enrollmentId)))
-                .flatMap(updateEnrollmentRequestDTO -> {
-
-                    return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
-                            .flatMap(existingEnrollment -> {
-                                RequestContextUpdate rcu = new RequestContextUpdate(updateEnrollmentRequestDTO, enrollmentId);
-                                rcu.setEnrollment(existingEnrollment);
-                                return Mono.just(rcu);
-                            });
-                })
-                .flatMap(this::updatedStudentRequestResponse)
-                .flatMap(this::updatedCourseRequestResponse)
-                .map(EntityDTOUtils::toUpdatedEnrollmentEntity)
-                .map(enrollmentRepository::save)
-                .flatMap(entity -> entity)
+                .flatMap(updateEnrollmentRequestDTO -> updateTermInPlace(updateEnrollmentRequestDTO, enrollmentId)
+                        .switchIfEmpty(Mono.defer(() -> updateWithValidation(updateEnrollmentRequestDTO, enrollmentId))))
                 .map(EntityDTOUtils::toEnrollmentResponseDTO);
     }
 
+    // Fast path: when the request keeps the stored student and course and their copies are still fresh, the
+    // term is changed by a single UPDATE ... RETURNING. It completes empty when that condition does not hold.
+    private Mono<Enrollment> updateTermInPlace(EnrollmentRequestDTO updateRequest, String enrollmentId) {
+        UUID enrollmentUuid = toUuidOrNull(enrollmentId);
+        UUID studentId = toUuidOrNull(updateRequest.getStudentId());
+        UUID courseId = toUuidOrNull(updateRequest.getCourseId());
+        if(enrollmentUuid == null || studentId == null || courseId == null
+                || updateRequest.getEnrollmentYear() == null || updateRequest.getSemester() == null)
+            return Mono.empty();
+
+        Mono<Enrollment> updated = enrollmentRepository.updateEnrollmentTerm(enrollmentUuid, studentId, courseId,
+                        updateRequest.getEnrollmentYear(), updateRequest.getSemester(),
+                        LocalDateTime.now(ZoneOffset.UTC).minus(maxReferenceAge))
+                .onErrorMap(DataIntegrityViolationException.class, ex -> alreadyEnrolled(updateRequest.getStudentId(),
+                        updateRequest.getCourseId(), updateRequest.getSemester(), updateRequest.getEnrollmentYear()));
+
+        return timeStage("save", updated);
+    }
+
+    private Mono<Enrollment> updateWithValidation(EnrollmentRequestDTO updateRequest, String enrollmentId) {
+        return timeStage("load", Mono.fromSupplier(() -> toUuid("enrollment ID", enrollmentId))
+                        .flatMap(enrollmentRepository::findEnrollmentByEnrollmentId))
+                .map(existingEnrollment -> {
+                    RequestContextUpdate rcu = new RequestContextUpdate(updateRequest, enrollmentId);
+                    rcu.setEnrollment(existingEnrollment);
+                    return rcu;
+                })
+                .flatMap(this::validateUpdatedReferences)
+                .flatMap(rcu -> timeStage("mapping", Mono.fromSupplier(() -> EntityDTOUtils.toUpdatedEnrollmentEntity(rcu))))
+                .flatMap(enrollment -> timeStage("save", saveEnrollment(enrollment)));
+    }
+
     @Override
     public Mono<Void> deleteEnrollmentById(String enrollmentId) {
 
@@ -108,34 +302,208 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             return Mono.error(new InvalidInputException("The enrollment ID needs to be 36 characters: " + enrollmentId));
         }
 
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
-                .switchIfEmpty(Mono.error(new NotFoundException("No enrollment with this enrollmentId was found: " + enrollmentId)))
-                .flatMap(enrollmentRepository::delete);
+        return Mono.fromSupplier(() -> toUuid("enrollment ID", enrollmentId))
+                .flatMap(enrollmentRepository::deleteEnrollmentByEnrollmentId)
+                .flatMap(deletedRows -> deletedRows == 0
+                        ? Mono.error(new NotFoundException("No enrollment with this enrollmentId was found: " + enrollmentId))
+                        : Mono.empty());
+    }
+
+    private EnrollmentQuery toEnrollmentQuery(Map<String, String> querry) {
+        String enrollmentYear = querry.get("enrollmentYear");
+        String semester = querry.get("semester");
+
+        EnrollmentQuery enrollmentQuery = EnrollmentQuery.builder()
+                .studentId(querry.containsKey("studentId") ? toUuid("studentId", querry.get("studentId")) : null)
+                .courseId(querry.containsKey("courseId") ? toUuid("courseId", querry.get("courseId")) : null)
+                .build();
+
+        if(enrollmentYear != null) {
+            try {
+                enrollmentQuery.setEnrollmentYear(Integer.valueOf(enrollmentYear));
+            } catch (NumberFormatException ex) {
+                throw new InvalidInputException("The enrollment year needs to be a number: " + enrollmentYear);
+            }
+        }
+
+        if(semester != null) {
+            try {
+                enrollmentQuery.setSemester(Semester.valueOf(semester.toUpperCase()));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidInputException("Unknown semester: " + semester);
+            }
+        }
+
+        return enrollmentQuery;
     }
 
-    private Mono<RequestContextAdd> courseRequestResponse(RequestContextAdd rc) {
-        return this.courseClient.getCourseByCourseId(rc.getEnrollmentRequestDTO().getCourseId())
-                .doOnNext(rc::setCourseResponseDTO)
-                .thenReturn(rc);
+    // sort=property[,asc|desc]
+    private Sort toSort(String sort) {
+        if(sort == null || sort.isBlank())
+            return Sort.by("id");
+
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+
+        if(!SORTABLE_PROPERTIES.contains(property))
+            throw new InvalidInputException("Cannot sort enrollments by: " + property);
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if(parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new InvalidInputException("Unknown sort direction: " + parts[1]));
+        }
+
+        // id as tie-breaker keeps the order stable
+        return Sort.by(direction, property).and(Sort.by("id"));
     }
 
-    private Mono<RequestContextAdd> studentRequestResponse(RequestContextAdd rc){
-        return this.studentClient.getStudentByStudentId(rc.getEnrollmentRequestDTO().getStudentId())
-                .doOnNext(rc::setStudentResponseDTO)
-                .thenReturn(rc);
+    // the id columns are native UUIDs, so a value that does not parse as one cannot match any row
+    private static UUID toUuid(String name, String value) {
+        UUID uuid = toUuidOrNull(value);
+        if(uuid == null)
+            throw new InvalidInputException("The " + name + " needs to be a UUID: " + value);
+        return uuid;
     }
 
-    private Mono<RequestContextUpdate> updatedCourseRequestResponse(RequestContextUpdate rcu){
-        return this.courseClient.getCourseByCourseId(rcu.getEnrollmentRequestDTO().getCourseId())
-                .doOnNext(rcu::setCourseResponseDTO)
-                .thenReturn(rcu);
+    private static UUID toUuidOrNull(String value) {
+        if(value == null)
+            return null;
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 
-    private Mono<RequestContextUpdate> updatedStudentRequestResponse(RequestContextUpdate rcu){
-        return this.studentClient.getStudentByStudentId(rcu.getEnrollmentRequestDTO().getStudentId())
-                .doOnNext(rcu::setStudentResponseDTO)
-                .thenReturn(rcu);
+    private int toPositiveInt(String name, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if(number < 1)
+                throw new InvalidInputException("The " + name + " needs to be at least 1: " + value);
+            return number;
+        } catch (NumberFormatException ex) {
+            throw new InvalidInputException("The " + name + " needs to be a number: " + value);
+        }
     }
 
+    private EnrollmentPageResponseDTO toEnrollmentPage(List<Enrollment> enrollments, int pageSize) {
+        boolean hasNext = enrollments.size() > pageSize;
+        List<Enrollment> content = hasNext ? enrollments.subList(0, pageSize) : enrollments;
+
+        return EnrollmentPageResponseDTO.builder()
+                .enrollments(content.stream().map(EntityDTOUtils::toEnrollmentResponseDTO).toList())
+                .next(hasNext ? PageTokenUtils.encode(content.get(pageSize - 1).getId()) : null)
+                .build();
+    }
+
+    // The unique (studentId, courseId, enrollmentYear, semester) constraint rejects duplicate enrollments, and the
+    // version column rejects an update of a row that changed since it was loaded.
+    private Mono<Enrollment> saveEnrollment(Enrollment enrollment) {
+        return enrollmentRepository.save(enrollment)
+                .onErrorMap(DataIntegrityViolationException.class, ex -> alreadyEnrolled(enrollment.getStudentId().toString(),
+                        enrollment.getCourseId().toString(), enrollment.getSemester(), enrollment.getEnrollmentYear()))
+                .onErrorMap(OptimisticLockingFailureException.class, ex -> new ConflictException(
+                        "The enrollment " + enrollment.getEnrollmentId() + " was modified concurrently, reload it and retry the update"));
+    }
+
+    static InvalidInputException alreadyEnrolled(String studentId, String courseId, Semester semester, Integer enrollmentYear) {
+        return new InvalidInputException("The student " + studentId + " is already enrolled in the course " + courseId
+                + " for " + semester + " " + enrollmentYear);
+    }
+
+    // Student and course lookups are independent, so they run concurrently under one shared deadline.
+    // Mono.zip cancels the sibling lookup as soon as either one fails or the deadline expires.
+    private Mono<RequestContextAdd> validateReferences(RequestContextAdd rc) {
+        return Mono.zip(
+                        timeStage("student-lookup", this.studentClient.getStudentByStudentId(rc.getEnrollmentRequestDTO().getStudentId())),
+                        timeStage("course-lookup", this.courseClient.getCourseByCourseId(rc.getEnrollmentRequestDTO().getCourseId())))
+                .timeout(validationTimeout, Mono.error(this::validationTimedOut))
+                .map(responses -> {
+                    rc.setStudentResponseDTO(responses.getT1());
+                    rc.setCourseResponseDTO(responses.getT2());
+                    return rc;
+                });
+    }
+
+    // a downstream service too slow to answer within the deadline is unavailable as far as the caller is concerned (503),
+    // the same as for the rows of a bulk request
+    private ServiceUnavailableException validationTimedOut() {
+        return new ServiceUnavailableException("The enrollment could not be validated within " + validationTimeout);
+    }
+
+    // Most updates only move an enrollment to another term. A reference whose id did not change is taken from the
+    // copy stored on the row, unless that copy is older than maxReferenceAge; only changed or stale references
+    // are looked up remotely.
+    private Mono<RequestContextUpdate> validateUpdatedReferences(RequestContextUpdate rcu) {
+        Enrollment existingEnrollment = rcu.getEnrollment();
+        EnrollmentRequestDTO updateRequest = rcu.getEnrollmentRequestDTO();
+
+        LocalDateTime validatedAt = existingEnrollment.getValidatedAt();
+        boolean fresh = validatedAt != null
+                && validatedAt.isAfter(LocalDateTime.now(ZoneOffset.UTC).minus(maxReferenceAge));
+        boolean reuseStudent = fresh && Objects.equals(toUuidOrNull(updateRequest.getStudentId()), existingEnrollment.getStudentId());
+        boolean reuseCourse = fresh && Objects.equals(toUuidOrNull(updateRequest.getCourseId()), existingEnrollment.getCourseId());
+
+        Mono<StudentResponseDTO> student = reuseStudent
+                ? Mono.just(storedStudent(existingEnrollment))
+                : timeStage("student-lookup", this.studentClient.getStudentByStudentId(updateRequest.getStudentId()));
+        Mono<CourseResponseDTO> course = reuseCourse
+                ? Mono.just(storedCourse(existingEnrollment))
+                : timeStage("course-lookup", this.courseClient.getCourseByCourseId(updateRequest.getCourseId()));
+
+        if(reuseStudent)
+            meterRegistry.counter("enrollment.validation.reused", "reference", "student").increment();
+        if(reuseCourse)
+            meterRegistry.counter("enrollment.validation.reused", "reference", "course").increment();
+
+        // validatedAt tracks the oldest confirmation among the stored references
+        rcu.setValidatedAt(reuseStudent || reuseCourse ? validatedAt : LocalDateTime.now(ZoneOffset.UTC));
+
+        return Mono.zip(student, course)
+                .timeout(validationTimeout, Mono.error(this::validationTimedOut))
+                .map(responses -> {
+                    rcu.setStudentResponseDTO(responses.getT1());
+                    rcu.setCourseResponseDTO(responses.getT2());
+                    return rcu;
+                });
+    }
+
+    private StudentResponseDTO storedStudent(Enrollment enrollment) {
+        return StudentResponseDTO.builder()
+                .studentId(enrollment.getStudentId().toString())
+                .firstName(enrollment.getStudentFirstName())
+                .lastName(enrollment.getStudentLastName())
+                .build();
+    }
+
+    private CourseResponseDTO storedCourse(Enrollment enrollment) {
+        return CourseResponseDTO.builder()
+                .courseId(enrollment.getCourseId().toString())
+                .courseNumber(enrollment.getCourseNumber())
+                .courseName(enrollment.getCourseName())
+                .build();
+    }
+
+    // Times one pipeline stage from subscription to its terminal signal. The duration goes to the
+    // enrollment.pipeline.stage histogram and to the request's StageTimings (the Server-Timing header).
+    private <T> Mono<T> timeStage(String stage, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            return mono.doOnTerminate(() -> {
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                stageTimers.computeIfAbsent(stage, this::stageTimer).record(elapsed);
+                context.<StageTimings>getOrEmpty(StageTimings.class)
+                        .ifPresent(stageTimings -> stageTimings.record(stage, elapsed));
+            });
+        });
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("enrollment.pipeline.stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
 }
\ No newline at end of file
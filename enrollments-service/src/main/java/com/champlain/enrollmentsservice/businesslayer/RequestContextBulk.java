@@ -0,0 +1,50 @@
+package com.champlain.enrollmentsservice.businesslayer;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.presentationlayer.BulkEnrollmentResultDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@NoArgsConstructor
+public class RequestContextBulk {
+
+    private long index;
+    private EnrollmentRequestDTO enrollmentRequestDTO;
+    private Enrollment enrollment;
+    private HttpStatus status;
+    private String message;
+
+    public RequestContextBulk(long index, EnrollmentRequestDTO enrollmentRequestDTO){
+        this.index = index;
+        this.enrollmentRequestDTO = enrollmentRequestDTO;
+    }
+
+    // still waiting for validation or for its insert
+    public boolean isPending(){
+        return status == null;
+    }
+
+    public void fail(HttpStatus status, String message){
+        this.status = status;
+        this.message = message;
+        this.enrollment = null;
+    }
+
+    public void created(){
+        this.status = HttpStatus.CREATED;
+    }
+
+    public BulkEnrollmentResultDTO toResult(){
+        return BulkEnrollmentResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .enrollmentId(status == HttpStatus.CREATED ? enrollment.getEnrollmentId().toString() : null)
+                .message(message)
+                .build();
+    }
+
+
+}
@@ -8,6 +8,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +20,7 @@ public class RequestContextUpdate {
     private Enrollment enrollment;
     private StudentResponseDTO studentResponseDTO;
     private CourseResponseDTO courseResponseDTO;
+    private LocalDateTime validatedAt;
 
     public RequestContextUpdate(EnrollmentRequestDTO enrollmentRequestDTO, String enrollmentId){
         this.enrollmentRequestDTO = enrollmentRequestDTO;
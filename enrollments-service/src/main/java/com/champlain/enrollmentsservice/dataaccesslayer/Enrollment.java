@@ -2,11 +2,15 @@ package com.champlain.enrollmentsservice.dataaccesslayer;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Table("enrollments")
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,15 +20,16 @@ public class Enrollment {
     private Integer id;
 
     @Column("enrollmentId")
-    private String enrollmentId;
+    private UUID enrollmentId;
 
     @Column("enrollmentYear")
     private Integer enrollmentYear;
 
+    // SMALLINT code, see SemesterConverters
     private Semester semester;
 
     @Column("studentId")
-    private String studentId;
+    private UUID studentId;
 
     @Column("studentFirstName")
     private String studentFirstName;
@@ -33,12 +38,20 @@ public class Enrollment {
     private String studentLastName;
 
     @Column("courseId")
-    private String courseId;
+    private UUID courseId;
 
     @Column("courseNumber")
     private String courseNumber;
 
     @Column("courseName")
     private String courseName;
+
+    // when the denormalized student and course fields were last confirmed by the remote services (UTC)
+    @Column("validatedAt")
+    private LocalDateTime validatedAt;
+
+    // optimistic locking: save() only updates the row if nobody changed it since it was read
+    @Version
+    private Long version;
 }
 
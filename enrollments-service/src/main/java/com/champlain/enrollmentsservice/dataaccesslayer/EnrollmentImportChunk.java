@@ -0,0 +1,39 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// One committed chunk of an enrollment import, written in the same transaction as the chunk's rows
+@Data
+@Builder
+@Table("enrollment_import_chunks")
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentImportChunk {
+
+    @Id
+    private Integer id;
+
+    @Column("importId")
+    private String importId;
+
+    @Column("chunkIndex")
+    private Long chunkIndex;
+
+    // rows per chunk of the import; chunk indexes only line up again when a resume uses the same size
+    @Column("chunkSize")
+    private Integer chunkSize;
+
+    @Column("rowsImported")
+    private Long rowsImported;
+
+    @Column("rowsRejected")
+    private Long rowsRejected;
+
+    @Column("importedAt")
+    private LocalDateTime importedAt;
+}
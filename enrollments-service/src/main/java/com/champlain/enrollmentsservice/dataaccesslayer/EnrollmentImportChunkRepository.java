@@ -0,0 +1,10 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface EnrollmentImportChunkRepository extends ReactiveCrudRepository<EnrollmentImportChunk, Integer> {
+
+    Flux<EnrollmentImportChunk> findAllByImportId(String importId);
+
+}
@@ -0,0 +1,50 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.util.UUID;
+
+/**
+ * Filters, ordering and row limit of an enrollment listing. Every filter that is set
+ * becomes part of one WHERE clause, unset filters are left out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentQuery {
+
+    private UUID studentId;
+    private UUID courseId;
+    private Integer enrollmentYear;
+    private Semester semester;
+    // keyset cursor: only rows with a greater id are returned
+    private Integer afterId;
+
+    @Builder.Default
+    private Sort sort = Sort.by("id");
+
+    private Integer limit;
+
+    public Criteria toCriteria() {
+        Criteria criteria = Criteria.empty();
+
+        if (studentId != null)
+            criteria = criteria.and("studentId").is(studentId);
+        if (courseId != null)
+            criteria = criteria.and("courseId").is(courseId);
+        if (enrollmentYear != null)
+            criteria = criteria.and("enrollmentYear").is(enrollmentYear);
+        if (semester != null)
+            criteria = criteria.and("semester").is(semester);
+        if (afterId != null)
+            criteria = criteria.and("id").greaterThan(afterId);
+
+        return criteria;
+    }
+}
@@ -1,16 +1,24 @@
 package com.champlain.enrollmentsservice.dataaccesslayer;
 
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface EnrollmentRepository extends ReactiveCrudRepository<Enrollment, Integer> {
+import java.util.UUID;
 
-    Mono<Enrollment> findEnrollmentByEnrollmentId(String enrollmentId);
+public interface EnrollmentRepository extends ReactiveCrudRepository<Enrollment, Integer>, EnrollmentRepositoryCustom {
 
-    Flux<Enrollment> findAllEnrollmentByStudentId(String studentId);
+    Mono<Enrollment> findEnrollmentByEnrollmentId(UUID enrollmentId);
 
-    Flux<Enrollment> findAllEnrollmentByCourseId(String courseId);
+    @Modifying
+    @Query("DELETE FROM enrollments WHERE enrollmentId = :enrollmentId")
+    Mono<Integer> deleteEnrollmentByEnrollmentId(UUID enrollmentId);
+
+    Flux<Enrollment> findAllEnrollmentByStudentId(UUID studentId);
+
+    Flux<Enrollment> findAllEnrollmentByCourseId(UUID courseId);
 
     Flux<Enrollment> findAllEnrollmentByEnrollmentYear(Integer enrollmentYear);
 
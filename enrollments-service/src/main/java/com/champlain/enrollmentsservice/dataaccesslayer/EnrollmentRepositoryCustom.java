@@ -0,0 +1,36 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EnrollmentRepositoryCustom {
+
+    Flux<Enrollment> findAllEnrollmentMatching(EnrollmentQuery enrollmentQuery);
+
+    /**
+     * Moves an enrollment to another term in one statement, provided it still references the given student and
+     * course and those were validated after validatedAfter. Emits the updated row, or completes empty when no row
+     * matched.
+     */
+    Mono<Enrollment> updateEnrollmentTerm(UUID enrollmentId, UUID studentId, UUID courseId,
+                                          Integer enrollmentYear, Semester semester, LocalDateTime validatedAfter);
+
+    /**
+     * Inserts new enrollments with one multi-row INSERT and emits the number of rows written. The statement is
+     * atomic: when one row violates a constraint, none of them is inserted.
+     */
+    Mono<Long> insertEnrollments(List<Enrollment> enrollments);
+
+    /**
+     * Loads enrollments for a bulk import and emits the number of rows written. Rows that clash with a stored
+     * enrollment are skipped instead of failing the load. On PostgreSQL the rows are streamed with COPY FROM STDIN
+     * into a staging table that is dropped on commit, so the call has to run inside a transaction; other databases
+     * get batched multi-row inserts.
+     */
+    Mono<Long> importEnrollments(List<Enrollment> enrollments);
+
+}
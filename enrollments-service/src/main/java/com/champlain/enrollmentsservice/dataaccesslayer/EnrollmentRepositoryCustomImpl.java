@@ -0,0 +1,201 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+public class EnrollmentRepositoryCustomImpl implements EnrollmentRepositoryCustom {
+
+    private static final String UPDATE_TERM = "UPDATE enrollments " +
+            "SET enrollmentYear = :enrollmentYear, semester = :semester, version = version + 1 " +
+            "WHERE enrollmentId = :enrollmentId AND studentId = :studentId AND courseId = :courseId " +
+            "AND validatedAt > :validatedAfter";
+
+    private static final String INSERT_COLUMNS = "enrollmentId, enrollmentYear, semester, studentId, studentFirstName, " +
+            "studentLastName, courseId, courseNumber, courseName, validatedAt";
+
+    private static final String INSERT_ENROLLMENTS = "INSERT INTO enrollments (" + INSERT_COLUMNS + ") VALUES ";
+
+    private static final String CREATE_IMPORT_STAGING = "CREATE TEMPORARY TABLE enrollments_import ON COMMIT DROP AS " +
+            "SELECT " + INSERT_COLUMNS + " FROM enrollments WITH NO DATA";
+
+    private static final String COPY_IMPORT_STAGING = "COPY enrollments_import (" + INSERT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_IMPORT_STAGING = "INSERT INTO enrollments (" + INSERT_COLUMNS + ") " +
+            "SELECT " + INSERT_COLUMNS + " FROM enrollments_import ON CONFLICT DO NOTHING";
+
+    // rows per multi-row INSERT when the database has no COPY
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    // rows per buffer written to COPY
+    private static final int COPY_BUFFER_ROWS = 1000;
+
+    // TIMESTAMP keeps microseconds; LocalDateTime.toString() would drop zero seconds and print nanoseconds
+    private static final DateTimeFormatter COPY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final boolean postgres;
+    private final String updateTermReturning;
+
+    public EnrollmentRepositoryCustomImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+
+        // Postgres returns the updated row with RETURNING, H2 through a data change delta table
+        this.postgres = DialectResolver.getDialect(r2dbcEntityTemplate.getDatabaseClient().getConnectionFactory())
+                instanceof PostgresDialect;
+        this.updateTermReturning = postgres
+                ? UPDATE_TERM + " RETURNING *"
+                : "SELECT * FROM FINAL TABLE (" + UPDATE_TERM + ")";
+    }
+
+    @Override
+    public Flux<Enrollment> findAllEnrollmentMatching(EnrollmentQuery enrollmentQuery) {
+        Query query = Query.query(enrollmentQuery.toCriteria())
+                .sort(enrollmentQuery.getSort());
+
+        if (enrollmentQuery.getLimit() != null)
+            query = query.limit(enrollmentQuery.getLimit());
+
+        return r2dbcEntityTemplate
+                .select(Enrollment.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Mono<Enrollment> updateEnrollmentTerm(UUID enrollmentId, UUID studentId, UUID courseId,
+                                                 Integer enrollmentYear, Semester semester, LocalDateTime validatedAfter) {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql(updateTermReturning)
+                .bind("enrollmentYear", enrollmentYear)
+                .bind("semester", semester.getCode())
+                .bind("enrollmentId", enrollmentId)
+                .bind("studentId", studentId)
+                .bind("courseId", courseId)
+                .bind("validatedAfter", validatedAfter)
+                .map((row, metadata) -> r2dbcEntityTemplate.getConverter().read(Enrollment.class, row, metadata))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> insertEnrollments(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty())
+            return Mono.just(0L);
+
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < enrollments.size(); i++) {
+            rows.add("(:enrollmentId" + i + ", :enrollmentYear" + i + ", :semester" + i + ", :studentId" + i
+                    + ", :studentFirstName" + i + ", :studentLastName" + i + ", :courseId" + i
+                    + ", :courseNumber" + i + ", :courseName" + i + ", :validatedAt" + i + ")");
+        }
+
+        DatabaseClient.GenericExecuteSpec insert = r2dbcEntityTemplate.getDatabaseClient().sql(INSERT_ENROLLMENTS + rows);
+        for (int i = 0; i < enrollments.size(); i++) {
+            Enrollment enrollment = enrollments.get(i);
+            insert = insert
+                    .bind("enrollmentId" + i, enrollment.getEnrollmentId())
+                    .bind("enrollmentYear" + i, enrollment.getEnrollmentYear())
+                    .bind("semester" + i, enrollment.getSemester().getCode())
+                    .bind("studentId" + i, enrollment.getStudentId())
+                    .bind("studentFirstName" + i, Parameter.fromOrEmpty(enrollment.getStudentFirstName(), String.class))
+                    .bind("studentLastName" + i, Parameter.fromOrEmpty(enrollment.getStudentLastName(), String.class))
+                    .bind("courseId" + i, enrollment.getCourseId())
+                    .bind("courseNumber" + i, Parameter.fromOrEmpty(enrollment.getCourseNumber(), String.class))
+                    .bind("courseName" + i, Parameter.fromOrEmpty(enrollment.getCourseName(), String.class))
+                    .bind("validatedAt" + i, enrollment.getValidatedAt());
+        }
+
+        return insert.fetch().rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> importEnrollments(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty())
+            return Mono.just(0L);
+
+        if (postgres)
+            return copyEnrollments(enrollments);
+
+        return Flux.fromIterable(enrollments)
+                .buffer(IMPORT_BATCH_SIZE)
+                .concatMap(this::insertSkippingDuplicates)
+                .reduce(0L, Long::sum);
+    }
+
+    // COPY cannot skip rows that violate a constraint, so the rows go to a staging table first and are merged
+    // with ON CONFLICT DO NOTHING
+    private Mono<Long> copyEnrollments(List<Enrollment> enrollments) {
+        DatabaseClient databaseClient = r2dbcEntityTemplate.getDatabaseClient();
+        Flux<ByteBuffer> csv = Flux.fromIterable(enrollments)
+                .buffer(COPY_BUFFER_ROWS)
+                .map(EnrollmentRepositoryCustomImpl::toCsv);
+
+        return databaseClient.sql(CREATE_IMPORT_STAGING).then()
+                .then(databaseClient.inConnection(connection -> postgresqlConnection(connection).copyIn(COPY_IMPORT_STAGING, csv)))
+                .then(databaseClient.sql(MERGE_IMPORT_STAGING).fetch().rowsUpdated());
+    }
+
+    // a clash fails the whole statement, only then are the rows of the batch inserted one by one
+    private Mono<Long> insertSkippingDuplicates(List<Enrollment> batch) {
+        return insertEnrollments(batch)
+                .onErrorResume(DataIntegrityViolationException.class, ex -> Flux.fromIterable(batch)
+                        .concatMap(enrollment -> insertEnrollments(List.of(enrollment))
+                                .onErrorResume(DataIntegrityViolationException.class, duplicate -> Mono.just(0L)))
+                        .reduce(0L, Long::sum));
+    }
+
+    // the connection handed out by the DatabaseClient is a proxy around the pooled one, which wraps the driver's
+    private static PostgresqlConnection postgresqlConnection(Connection connection) {
+        Object target = connection;
+        while (!(target instanceof PostgresqlConnection) && target instanceof Wrapped<?> wrapped)
+            target = wrapped.unwrap();
+
+        if (!(target instanceof PostgresqlConnection postgresqlConnection))
+            throw new IllegalStateException("COPY needs a PostgreSQL connection: " + connection);
+        return postgresqlConnection;
+    }
+
+    // CSV as read by COPY ... WITH (FORMAT csv): an unquoted empty field is NULL, a quoted one an empty string,
+    // quotes are doubled and commas or line breaks stay inside the quotes
+    static ByteBuffer toCsv(List<Enrollment> enrollments) {
+        StringBuilder csv = new StringBuilder(enrollments.size() * 160);
+        for (Enrollment enrollment : enrollments) {
+            csv.append(enrollment.getEnrollmentId()).append(',')
+                    .append(enrollment.getEnrollmentYear()).append(',')
+                    .append(enrollment.getSemester().getCode()).append(',')
+                    .append(enrollment.getStudentId()).append(',');
+            appendCsvText(csv, enrollment.getStudentFirstName()).append(',');
+            appendCsvText(csv, enrollment.getStudentLastName()).append(',');
+            csv.append(enrollment.getCourseId()).append(',');
+            appendCsvText(csv, enrollment.getCourseNumber()).append(',');
+            appendCsvText(csv, enrollment.getCourseName()).append(',');
+            if (enrollment.getValidatedAt() != null)
+                csv.append(COPY_TIMESTAMP.format(enrollment.getValidatedAt()));
+            csv.append('\n');
+        }
+        return ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendCsvText(StringBuilder csv, String value) {
+        if (value == null)
+            return csv;
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,17 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+
+@Configuration
+public class R2dbcConversionsConfig {
+
+    // replaces the auto-configured conversions; UUID columns need no converter, both drivers bind java.util.UUID
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory), SemesterConverters.all());
+    }
+}
@@ -1,9 +1,29 @@
 package com.champlain.enrollmentsservice.dataaccesslayer;
 
+import java.util.Arrays;
+
 public enum Semester {
 
-    WINTER,
-    SPRING,
-    SUMMER,
-    FALL
+    WINTER(0),
+    SPRING(1),
+    SUMMER(2),
+    FALL(3);
+
+    // stored in the SMALLINT semester column; never reuse or renumber a code
+    private final short code;
+
+    Semester(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static Semester fromCode(short code) {
+        return Arrays.stream(values())
+                .filter(semester -> semester.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown semester code: " + code));
+    }
 }
@@ -0,0 +1,45 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.List;
+
+/**
+ * Stores Semester as its SMALLINT code instead of the enum name.
+ */
+public final class SemesterConverters {
+
+    private SemesterConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(new SemesterWritingConverter(), new SemesterReadingConverter(), new SemesterIntegerReadingConverter());
+    }
+
+    @WritingConverter
+    static class SemesterWritingConverter implements Converter<Semester, Short> {
+        @Override
+        public Short convert(Semester semester) {
+            return semester.getCode();
+        }
+    }
+
+    // Postgres reads SMALLINT as Short, H2 2.x as Integer
+    @ReadingConverter
+    static class SemesterReadingConverter implements Converter<Short, Semester> {
+        @Override
+        public Semester convert(Short code) {
+            return Semester.fromCode(code);
+        }
+    }
+
+    @ReadingConverter
+    static class SemesterIntegerReadingConverter implements Converter<Integer, Semester> {
+        @Override
+        public Semester convert(Integer code) {
+            return Semester.fromCode(code.shortValue());
+        }
+    }
+}
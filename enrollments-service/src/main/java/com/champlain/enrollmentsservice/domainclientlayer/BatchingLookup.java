@@ -0,0 +1,124 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single-id lookups over a short window (or until maxBatchSize distinct ids are waiting)
+ * and resolves them all with one bulk request. Duplicate ids inside a window share the same result.
+ * Ids missing from the bulk response are completed with the error built by missingIdError.
+ */
+public class BatchingLookup<T> {
+
+    private final Function<Set<String>, Flux<T>> bulkLookup;
+    private final Function<T, String> idExtractor;
+    private final Function<String, Throwable> missingIdError;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Scheduler scheduler;
+
+    private Map<String, List<Sinks.One<T>>> pending = new HashMap<>();
+    private long generation;
+
+    public BatchingLookup(Function<Set<String>, Flux<T>> bulkLookup,
+                          Function<T, String> idExtractor,
+                          Function<String, Throwable> missingIdError,
+                          int maxBatchSize,
+                          Duration window) {
+        this(bulkLookup, idExtractor, missingIdError, maxBatchSize, window, Schedulers.parallel());
+    }
+
+    public BatchingLookup(Function<Set<String>, Flux<T>> bulkLookup,
+                          Function<T, String> idExtractor,
+                          Function<String, Throwable> missingIdError,
+                          int maxBatchSize,
+                          Duration window,
+                          Scheduler scheduler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + maxBatchSize);
+        }
+        this.bulkLookup = bulkLookup;
+        this.idExtractor = idExtractor;
+        this.missingIdError = missingIdError;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<T> load(String id) {
+        return Mono.defer(() -> {
+            Sinks.One<T> result = Sinks.one();
+            enqueue(id, result);
+            return result.asMono();
+        });
+    }
+
+    private void enqueue(String id, Sinks.One<T> result) {
+        Map<String, List<Sinks.One<T>>> batch = null;
+
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                long batchGeneration = generation;
+                scheduler.schedule(() -> flush(batchGeneration), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            pending.computeIfAbsent(id, key -> new ArrayList<>(1)).add(result);
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            }
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private void flush(long batchGeneration) {
+        Map<String, List<Sinks.One<T>>> batch;
+
+        synchronized (this) {
+            // the batch this timer was started for has already been sent because it filled up
+            if (batchGeneration != generation || pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+
+        dispatch(batch);
+    }
+
+    private Map<String, List<Sinks.One<T>>> drain() {
+        Map<String, List<Sinks.One<T>>> batch = pending;
+        pending = new HashMap<>();
+        generation++;
+        return batch;
+    }
+
+    private void dispatch(Map<String, List<Sinks.One<T>>> batch) {
+        bulkLookup.apply(batch.keySet())
+                .collectMap(idExtractor)
+                .subscribe(
+                        found -> batch.forEach((id, waiters) -> {
+                            T value = found.get(id);
+                            if (value != null) {
+                                waiters.forEach(waiter -> waiter.tryEmitValue(value));
+                            } else {
+                                Throwable error = missingIdError.apply(id);
+                                waiters.forEach(waiter -> waiter.tryEmitError(error));
+                            }
+                        }),
+                        error -> batch.values()
+                                .forEach(waiters -> waiters.forEach(waiter -> waiter.tryEmitError(error))));
+    }
+}
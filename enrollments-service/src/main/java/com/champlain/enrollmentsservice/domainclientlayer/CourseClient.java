@@ -2,53 +2,128 @@ package com.champlain.enrollmentsservice.domainclientlayer;
 
 
 
+import com.champlain.enrollmentsservice.utils.exceptions.DownstreamClientException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
-import org.springframework.beans.factory.annotation.Value;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
-import java.util.UUID;
+import java.util.Collection;
+import java.util.function.Supplier;
 
 @Service
 public class CourseClient {
 
         private final WebClient webClient;
         private final String courseClientServiceBaseURL;
+        private final BatchingLookup<CourseResponseDTO> courseLookup;
+        private final LookupCache<CourseResponseDTO> courseCache;
+        private final RequestHedger courseHedger;
+        private final DownstreamGuard courseGuard;
 
 
-    public CourseClient(@Value("${app.courses-service.host}") String coursesServiceHost,
-                        @Value("${app.courses-service.port}") String coursesServicePort){
+    public CourseClient(@Qualifier("coursesServiceProperties") DownstreamServiceProperties coursesService,
+                        WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+                        @Qualifier("coursesServiceHttpClient") HttpClient httpClient){
 
-        courseClientServiceBaseURL = "http://" + coursesServiceHost + ":" + coursesServicePort + "/courses";
+        courseClientServiceBaseURL = "http://" + coursesService.getHost() + ":" + coursesService.getPort() + "/courses";
 
-        this.webClient = WebClient.builder()
+        this.webClient = webClientBuilder.clone()
                 .baseUrl(courseClientServiceBaseURL)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
 
+        this.courseGuard = new DownstreamGuard("courses-service", coursesService, meterRegistry);
+
+        this.courseHedger = coursesService.getHedging().isEnabled()
+                ? new RequestHedger("courses-service", coursesService.getHedging(), meterRegistry)
+                : null;
+
+        DownstreamServiceProperties.Batching batching = coursesService.getBatching();
+        this.courseLookup = batching.isEnabled()
+                ? new BatchingLookup<>(this::getCoursesByCourseIds, CourseResponseDTO::getCourseId,
+                        this::courseNotFound, batching.getMaxSize(), batching.getWindow())
+                : null;
+
+        this.courseCache = coursesService.getCache().isEnabled()
+                ? new LookupCache<>(this::lookupCourse, this::courseNotFound, coursesService.getCache())
+                : null;
+
+        if(courseCache != null)
+            CaffeineCacheMetrics.monitor(meterRegistry, courseCache.getCache().synchronous(), "courses-service.lookup");
     }
 
     public Mono<CourseResponseDTO> getCourseByCourseId(final String courseId){
-            return this.webClient
+            if(courseCache != null)
+                return courseCache.get(courseId);
+
+            return lookupCourse(courseId);
+        }
+
+        public Flux<CourseResponseDTO> getCoursesByCourseIds(final Collection<String> courseIds){
+            return execute(() -> this.webClient
+                    .post()
+                    .uri("/lookup")
+                    .bodyValue(courseIds)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::is4xxClientError, error -> Mono.error(rejected(error.statusCode())))
+                    .onStatus(HttpStatusCode::is5xxServerError, error -> Mono.error(failed(error.statusCode())))
+                    .bodyToMono(CourseLookupResponseDTO.class))
+                    .flatMapIterable(CourseLookupResponseDTO::getCourses);
+        }
+
+        public CacheStats getCacheStats(){
+            return courseCache != null ? courseCache.stats() : CacheStats.empty();
+        }
+
+        private Mono<CourseResponseDTO> lookupCourse(final String courseId){
+            if(courseLookup != null)
+                return courseLookup.load(courseId);
+
+            return fetchCourse(courseId);
+        }
+
+        private Mono<CourseResponseDTO> fetchCourse(final String courseId){
+            return execute(() -> this.webClient
                     .get()
                     .uri("/{courseId}", courseId)
                     .retrieve()
                     .onStatus(HttpStatusCode::is4xxClientError, error -> {
                         HttpStatusCode statusCode = error.statusCode();
                         if(statusCode.equals(HttpStatus.NOT_FOUND))
-                            return Mono.error(new NotFoundException("CourseId not found: " + courseId));
-                        return Mono.error(new IllegalArgumentException("Something went wrong"));
+                            return Mono.error(courseNotFound(courseId));
+                        return Mono.error(rejected(statusCode));
                     })
-                    .onStatus(HttpStatusCode::is5xxServerError, error ->
-                            Mono.error(new IllegalArgumentException("Something went wrong"))
-                    )
-                    .bodyToMono(CourseResponseDTO.class);
+                    .onStatus(HttpStatusCode::is5xxServerError, error -> Mono.error(failed(error.statusCode())))
+                    .bodyToMono(CourseResponseDTO.class));
         }
 
-        public static String generateUUIDString(){
-            return UUID.randomUUID().toString();
+        private <T> Mono<T> execute(final Supplier<Mono<T>> request){
+            if(courseHedger != null)
+                return courseGuard.protect(courseHedger.hedge(request));
+
+            return courseGuard.protect(Mono.defer(request));
         }
-    }
 
+        private NotFoundException courseNotFound(final String courseId){
+            return new NotFoundException("CourseId not found: " + courseId);
+        }
+
+        private DownstreamClientException rejected(final HttpStatusCode statusCode){
+            return new DownstreamClientException("The courses-service rejected the request with " + statusCode);
+        }
+
+        private ServiceUnavailableException failed(final HttpStatusCode statusCode){
+            return new ServiceUnavailableException("The courses-service failed the request with " + statusCode);
+        }
+    }
@@ -0,0 +1,20 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseLookupResponseDTO {
+
+    private List<CourseResponseDTO> courses;
+    private List<String> missingCourseIds;
+
+
+}
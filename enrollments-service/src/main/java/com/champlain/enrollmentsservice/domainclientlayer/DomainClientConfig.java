@@ -0,0 +1,67 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class DomainClientConfig {
+
+    @Bean
+    @ConfigurationProperties("app.students-service")
+    public DownstreamServiceProperties studentsServiceProperties() {
+        return new DownstreamServiceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.courses-service")
+    public DownstreamServiceProperties coursesServiceProperties() {
+        return new DownstreamServiceProperties();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider studentsServiceConnectionProvider(@Qualifier("studentsServiceProperties") DownstreamServiceProperties studentsService) {
+        return connectionProvider("students-service", studentsService.getHttp());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider coursesServiceConnectionProvider(@Qualifier("coursesServiceProperties") DownstreamServiceProperties coursesService) {
+        return connectionProvider("courses-service", coursesService.getHttp());
+    }
+
+    @Bean
+    public HttpClient studentsServiceHttpClient(@Qualifier("studentsServiceConnectionProvider") ConnectionProvider connectionProvider,
+                                                @Qualifier("studentsServiceProperties") DownstreamServiceProperties studentsService) {
+        return httpClient(connectionProvider, studentsService.getHttp());
+    }
+
+    @Bean
+    public HttpClient coursesServiceHttpClient(@Qualifier("coursesServiceConnectionProvider") ConnectionProvider connectionProvider,
+                                               @Qualifier("coursesServiceProperties") DownstreamServiceProperties coursesService) {
+        return httpClient(connectionProvider, coursesService.getHttp());
+    }
+
+    // metrics(true) publishes reactor.netty.connection.provider.{total,active,idle,pending}.connections per pool
+    private static ConnectionProvider connectionProvider(String name, DownstreamServiceProperties.Http http) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .maxLifeTime(http.getMaxLifeTime())
+                .evictInBackground(http.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    private static HttpClient httpClient(ConnectionProvider connectionProvider, DownstreamServiceProperties.Http http) {
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, http.isKeepAlive())
+                .responseTimeout(http.getResponseTimeout());
+    }
+}
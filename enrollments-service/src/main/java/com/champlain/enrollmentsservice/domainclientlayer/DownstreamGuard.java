@@ -0,0 +1,89 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.DownstreamClientException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker and concurrency bulkhead in front of one downstream service.
+ * Calls rejected by either of them fail right away with a ServiceUnavailableException (503)
+ * instead of waiting on a service that is already known to be degraded.
+ * A NotFoundException is a normal answer and a DownstreamClientException is the caller's mistake, neither counts
+ * as a failure.
+ */
+public class DownstreamGuard {
+
+    private final String service;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public DownstreamGuard(String service, DownstreamServiceProperties properties, MeterRegistry meterRegistry) {
+        this.service = service;
+
+        DownstreamServiceProperties.CircuitBreaker circuitBreakerProperties = properties.getCircuitBreaker();
+        if (circuitBreakerProperties.isEnabled()) {
+            CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                    .slidingWindowSize(circuitBreakerProperties.getSlidingWindowSize())
+                    .minimumNumberOfCalls(circuitBreakerProperties.getMinimumNumberOfCalls())
+                    .failureRateThreshold(circuitBreakerProperties.getFailureRateThreshold())
+                    .slowCallDurationThreshold(circuitBreakerProperties.getSlowCallDuration())
+                    .slowCallRateThreshold(circuitBreakerProperties.getSlowCallRateThreshold())
+                    .waitDurationInOpenState(circuitBreakerProperties.getWaitDurationInOpenState())
+                    .permittedNumberOfCallsInHalfOpenState(circuitBreakerProperties.getPermittedNumberOfCallsInHalfOpenState())
+                    .ignoreExceptions(NotFoundException.class, DownstreamClientException.class)
+                    .build());
+            this.circuitBreaker = registry.circuitBreaker(service);
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        } else {
+            this.circuitBreaker = null;
+        }
+
+        DownstreamServiceProperties.Bulkhead bulkheadProperties = properties.getBulkhead();
+        if (bulkheadProperties.isEnabled()) {
+            BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                    .maxConcurrentCalls(bulkheadProperties.getMaxConcurrentCalls())
+                    .maxWaitDuration(bulkheadProperties.getMaxWaitDuration())
+                    .build());
+            this.bulkhead = registry.bulkhead(service);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        } else {
+            this.bulkhead = null;
+        }
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        // the bulkhead is applied last so it sits outermost: calls it rejects never reach the breaker's statistics
+        if (circuitBreaker != null)
+            call = call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (bulkhead != null)
+            call = call.transformDeferred(BulkheadOperator.of(bulkhead));
+
+        return call
+                .onErrorMap(CallNotPermittedException.class, ex -> new ServiceUnavailableException(
+                        "The " + service + " is unavailable, its circuit breaker is open", ex))
+                .onErrorMap(BulkheadFullException.class, ex -> new ServiceUnavailableException(
+                        "The " + service + " is overloaded, too many calls are in flight", ex));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,96 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings of one downstream service, bound from app.students-service / app.courses-service.
+ */
+@Data
+public class DownstreamServiceProperties {
+
+    private String host;
+    private String port;
+    private Batching batching = new Batching();
+    private Cache cache = new Cache();
+    private Http http = new Http();
+    private Hedging hedging = new Hedging();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+
+    @Data
+    public static class Batching {
+
+        private boolean enabled = false;
+        private int maxSize = 100;
+        private Duration window = Duration.ofMillis(5);
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = false;
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+        // entries older than this are refreshed in the background while the cached copy keeps being served
+        private Duration refreshAfter;
+        // how long a 404 is remembered, zero disables negative caching
+        private Duration negativeTtl = Duration.ZERO;
+    }
+
+    @Data
+    public static class Http {
+
+        private int maxConnections = 50;
+        // requests waiting for a connection beyond this are rejected instead of queuing without bound
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(3);
+        private boolean keepAlive = true;
+    }
+
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+        // the second request goes out once the first is slower than this percentile of recent latencies
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        // used until minSamples latencies have been observed
+        private Duration initialDelay = Duration.ofMillis(50);
+        private int minSamples = 100;
+        private int windowSize = 1000;
+        private int recomputeEvery = 50;
+        // 0.1 allows at most one hedge per ten requests in the long run, maxBudget hedges in a burst
+        private double budgetRatio = 0.1;
+        private double maxBudget = 10;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = false;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private float failureRateThreshold = 50;
+        // calls slower than slowCallDuration count towards slowCallRateThreshold
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private float slowCallRateThreshold = 80;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        private boolean enabled = false;
+        private int maxConcurrentCalls = 50;
+        // zero rejects immediately once maxConcurrentCalls are in flight
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+}
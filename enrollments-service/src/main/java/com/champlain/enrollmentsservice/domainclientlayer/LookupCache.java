@@ -0,0 +1,99 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache in front of a single-id lookup.
+ * Concurrent misses for the same id share one in-flight request, and a NotFoundException
+ * can be remembered for negativeTtl so unknown ids do not hit the downstream service every time.
+ * Entries are never invalidated explicitly, so a cached value is at most ttl old.
+ */
+public class LookupCache<T> {
+
+    private final AsyncLoadingCache<String, Optional<T>> cache;
+    private final Function<String, Mono<T>> loader;
+    private final Function<String, Throwable> missingIdError;
+    private final boolean negativeCaching;
+
+    public LookupCache(Function<String, Mono<T>> loader,
+                       Function<String, Throwable> missingIdError,
+                       DownstreamServiceProperties.Cache properties) {
+        this(loader, missingIdError, properties, Ticker.systemTicker());
+    }
+
+    public LookupCache(Function<String, Mono<T>> loader,
+                       Function<String, Throwable> missingIdError,
+                       DownstreamServiceProperties.Cache properties,
+                       Ticker ticker) {
+        this.loader = loader;
+        this.missingIdError = missingIdError;
+        this.negativeCaching = !properties.getNegativeTtl().isZero();
+
+        long ttl = properties.getTtl().toNanos();
+        long negativeTtl = properties.getNegativeTtl().toNanos();
+
+        Caffeine<String, Optional<T>> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .ticker(ticker)
+                .recordStats()
+                .expireAfter(new Expiry<String, Optional<T>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Optional<T> value, long currentTime) {
+                        return value.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Optional<T> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Optional<T> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                });
+
+        if (properties.getRefreshAfter() != null && properties.getRefreshAfter().compareTo(properties.getTtl()) < 0) {
+            builder.refreshAfterWrite(properties.getRefreshAfter());
+        }
+
+        this.cache = builder.buildAsync((id, executor) -> load(id));
+    }
+
+    public Mono<T> get(String id) {
+        // copy() so that a cancelled caller does not cancel the load other callers are waiting on
+        return Mono.fromFuture(() -> cache.get(id).copy())
+                .flatMap(value -> value
+                        .map(Mono::just)
+                        .orElseGet(() -> Mono.error(missingIdError.apply(id))));
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public AsyncLoadingCache<String, Optional<T>> getCache() {
+        return cache;
+    }
+
+    private CompletableFuture<Optional<T>> load(String id) {
+        Mono<Optional<T>> lookup = loader.apply(id).map(Optional::of);
+
+        if (negativeCaching) {
+            lookup = lookup.onErrorResume(NotFoundException.class, error -> Mono.just(Optional.empty()));
+        }
+
+        return lookup.toFuture();
+    }
+}
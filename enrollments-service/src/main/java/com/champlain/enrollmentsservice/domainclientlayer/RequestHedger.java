@@ -0,0 +1,118 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent reads: when the first request has not answered after the hedge delay, an identical second
+ * request is sent and whichever signals first wins, the other one is cancelled.
+ * The delay follows a percentile of recently observed latencies, and a token bucket (every request earns
+ * budgetRatio tokens, every hedge spends one) keeps the extra load bounded.
+ */
+public class RequestHedger {
+
+    private final DownstreamServiceProperties.Hedging properties;
+    private final Scheduler scheduler;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    private final long[] latencies;
+    private int samples;
+    private int nextSample;
+    private long hedgeDelayNanos;
+
+    private double budget;
+
+    public RequestHedger(String service, DownstreamServiceProperties.Hedging properties, MeterRegistry meterRegistry) {
+        this(service, properties, meterRegistry, Schedulers.parallel());
+    }
+
+    public RequestHedger(String service, DownstreamServiceProperties.Hedging properties, MeterRegistry meterRegistry,
+                         Scheduler scheduler) {
+        // a percentile of 0 would read the window before its first sample, above 1 past its last one
+        if (!(properties.getPercentile() > 0 && properties.getPercentile() <= 1))
+            throw new IllegalArgumentException("app." + service + ".hedging.percentile needs to be greater than 0 and at most 1: "
+                    + properties.getPercentile());
+
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.latencies = new long[properties.getWindowSize()];
+        this.hedgeDelayNanos = properties.getInitialDelay().toNanos();
+        this.budget = properties.getMaxBudget();
+
+        this.hedgesSent = Counter.builder("downstream.hedges.sent").tag("service", service).register(meterRegistry);
+        this.hedgesWon = Counter.builder("downstream.hedges.won").tag("service", service).register(meterRegistry);
+        Gauge.builder("downstream.hedges.delay", this, hedger -> hedger.hedgeDelay().toNanos() / 1_000_000.0)
+                .tag("service", service)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> hedge(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            earnBudget();
+
+            Mono<T> primary = timed(request);
+
+            // never() rather than empty() when there is no budget, so that the primary keeps the race to itself;
+            // a failed hedge never wins either, errors only come from the primary
+            Mono<T> hedged = Mono.delay(hedgeDelay(), scheduler)
+                    .flatMap(tick -> {
+                        if (!spendBudget())
+                            return Mono.<T>never();
+                        hedgesSent.increment();
+                        return timed(request)
+                                .doOnNext(value -> hedgesWon.increment())
+                                .onErrorResume(ex -> Mono.never());
+                    });
+
+            return Mono.firstWithSignal(primary, hedged);
+        });
+    }
+
+    // Only requests that answered are sampled. The elapsed time of a request cancelled because the other one won
+    // is just a lower bound of its latency and would drag the percentile, and with it the hedge delay, down.
+    private <T> Mono<T> timed(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get().doOnTerminate(() -> recordLatency(System.nanoTime() - start));
+        });
+    }
+
+    public synchronized Duration hedgeDelay() {
+        return Duration.ofNanos(hedgeDelayNanos);
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(properties.getMaxBudget(), budget + properties.getBudgetRatio());
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1)
+            return false;
+        budget -= 1;
+        return true;
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[nextSample] = nanos;
+        nextSample = (nextSample + 1) % latencies.length;
+        samples = Math.min(samples + 1, latencies.length);
+
+        // re-sorting the window on every sample would cost more than the hedging saves
+        if (samples >= properties.getMinSamples() && nextSample % properties.getRecomputeEvery() == 0) {
+            long[] window = Arrays.copyOf(latencies, samples);
+            Arrays.sort(window);
+            long percentile = window[(int) Math.ceil(properties.getPercentile() * samples) - 1];
+            hedgeDelayNanos = Math.max(percentile, properties.getMinDelay().toNanos());
+        }
+    }
+}
@@ -1,47 +1,128 @@
 package com.champlain.enrollmentsservice.domainclientlayer;
 
 
+import com.champlain.enrollmentsservice.utils.exceptions.DownstreamClientException;
 import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
-import org.springframework.beans.factory.annotation.Value;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
+import java.util.Collection;
+import java.util.function.Supplier;
 
 @Service
 public class StudentClient {
 
     private final WebClient webClient;
     private final String studentClientServiceBaseURL;
+    private final BatchingLookup<StudentResponseDTO> studentLookup;
+    private final LookupCache<StudentResponseDTO> studentCache;
+    private final RequestHedger studentHedger;
+    private final DownstreamGuard studentGuard;
 
-    public StudentClient(@Value("${app.students-service.host}") String studentServiceHost,
-                         @Value("${app.students-service.port}") String studentServicePort){
+    public StudentClient(@Qualifier("studentsServiceProperties") DownstreamServiceProperties studentsService,
+                         WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+                         @Qualifier("studentsServiceHttpClient") HttpClient httpClient){
 
-        studentClientServiceBaseURL = "http://" + studentServiceHost + ":" + studentServicePort + "/students";
+        studentClientServiceBaseURL = "http://" + studentsService.getHost() + ":" + studentsService.getPort() + "/students";
 
-        this.webClient = WebClient.builder()
+        this.webClient = webClientBuilder.clone()
                 .baseUrl(studentClientServiceBaseURL)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
 
+        this.studentGuard = new DownstreamGuard("students-service", studentsService, meterRegistry);
+
+        this.studentHedger = studentsService.getHedging().isEnabled()
+                ? new RequestHedger("students-service", studentsService.getHedging(), meterRegistry)
+                : null;
+
+        DownstreamServiceProperties.Batching batching = studentsService.getBatching();
+        this.studentLookup = batching.isEnabled()
+                ? new BatchingLookup<>(this::getStudentsByStudentIds, StudentResponseDTO::getStudentId,
+                        this::studentNotFound, batching.getMaxSize(), batching.getWindow())
+                : null;
+
+        this.studentCache = studentsService.getCache().isEnabled()
+                ? new LookupCache<>(this::lookupStudent, this::studentNotFound, studentsService.getCache())
+                : null;
+
+        if(studentCache != null)
+            CaffeineCacheMetrics.monitor(meterRegistry, studentCache.getCache().synchronous(), "students-service.lookup");
     }
 
     public Mono<StudentResponseDTO> getStudentByStudentId(final String studentId){
-        return this.webClient
+        if(studentCache != null)
+            return studentCache.get(studentId);
+
+        return lookupStudent(studentId);
+    }
+
+    public Flux<StudentResponseDTO> getStudentsByStudentIds(final Collection<String> studentIds){
+        return execute(() -> this.webClient
+                .post()
+                .uri("/lookup")
+                .bodyValue(studentIds)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, error -> Mono.error(rejected(error.statusCode())))
+                .onStatus(HttpStatusCode::is5xxServerError, error -> Mono.error(failed(error.statusCode())))
+                .bodyToMono(StudentLookupResponseDTO.class))
+                .flatMapIterable(StudentLookupResponseDTO::getStudents);
+    }
+
+    public CacheStats getCacheStats(){
+        return studentCache != null ? studentCache.stats() : CacheStats.empty();
+    }
+
+    private Mono<StudentResponseDTO> lookupStudent(final String studentId){
+        if(studentLookup != null)
+            return studentLookup.load(studentId);
+
+        return fetchStudent(studentId);
+    }
+
+    private Mono<StudentResponseDTO> fetchStudent(final String studentId){
+        return execute(() -> this.webClient
                 .get()
                 .uri("/{studentId}", studentId)
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, error -> {
                     HttpStatusCode statusCode = error.statusCode();
                     if(statusCode.equals(HttpStatus.NOT_FOUND))
-                        return Mono.error(new NotFoundException("StudentId not found: " + studentId));
-                    return Mono.error(new IllegalArgumentException("Something went wrong"));
+                        return Mono.error(studentNotFound(studentId));
+                    return Mono.error(rejected(statusCode));
                 })
-                .onStatus(HttpStatusCode::is5xxServerError, error ->
-                     Mono.error(new IllegalArgumentException("Something went wrong"))
-                )
-                .bodyToMono(StudentResponseDTO.class);
+                .onStatus(HttpStatusCode::is5xxServerError, error -> Mono.error(failed(error.statusCode())))
+                .bodyToMono(StudentResponseDTO.class));
+    }
+
+    private <T> Mono<T> execute(final Supplier<Mono<T>> request){
+        if(studentHedger != null)
+            return studentGuard.protect(studentHedger.hedge(request));
+
+        return studentGuard.protect(Mono.defer(request));
+    }
+
+    private NotFoundException studentNotFound(final String studentId){
+        return new NotFoundException("StudentId not found: " + studentId);
+    }
+
+    private DownstreamClientException rejected(final HttpStatusCode statusCode){
+        return new DownstreamClientException("The students-service rejected the request with " + statusCode);
+    }
+
+    private ServiceUnavailableException failed(final HttpStatusCode statusCode){
+        return new ServiceUnavailableException("The students-service failed the request with " + statusCode);
     }
 
 }
@@ -0,0 +1,22 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResultDTO {
+
+    // zero-based line of the request in the uploaded stream
+    private long index;
+    // 201 with the new enrollmentId, otherwise the status a single POST /enrollments would have answered
+    private int status;
+    private String enrollmentId;
+    private String message;
+
+
+}
@@ -22,11 +22,19 @@ public class EnrollmentController {
     private final EnrollmentService enrollmentService;
 
 
+    // every matching row (or the first limit rows) in id order, read page by page on the server; sort by another
+    // property needs a limit of at most app.enrollments.page.max-size, GET /enrollments/page hands the cursor to the caller
     @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<EnrollmentResponseDTO> getAllEnrollments(@RequestParam (required= false) Map<String , String> queryParams) {
         return enrollmentService.getAllEnrollments(queryParams);
     }
 
+    @GetMapping("/page")
+    public Mono<ResponseEntity<EnrollmentPageResponseDTO>> getEnrollmentPage(@RequestParam (required= false) Map<String , String> queryParams) {
+        return enrollmentService.getEnrollmentPage(queryParams)
+                .map(page -> ResponseEntity.ok().body(page));
+    }
+
     @GetMapping("/{enrollmentId}")
     public Mono<ResponseEntity<EnrollmentResponseDTO>> getEnrollmentById(@PathVariable String enrollmentId){
         return enrollmentService.getEnrollmentById(enrollmentId)
@@ -42,6 +50,13 @@ public class EnrollmentController {
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
 
+    // one enrollment request per NDJSON line in, one result per line out, in the same order; the lines are parsed
+    // one by one, so that a malformed line gets a 400 result instead of ending the whole response
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkEnrollmentResultDTO> addEnrollments(@RequestBody Flux<String> ndjsonLines){
+        return enrollmentService.addEnrollmentLines(ndjsonLines);
+    }
+
     @PutMapping("/{enrollmentId}")
     public Mono<ResponseEntity<EnrollmentResponseDTO>> updateEnrollment(@RequestBody Mono<EnrollmentRequestDTO> enrollmentRequestDTO,
                                                                         @PathVariable String enrollmentId){
@@ -0,0 +1,34 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import com.champlain.enrollmentsservice.businesslayer.EnrollmentImportService;
+import com.champlain.enrollmentsservice.utils.EntityDTOUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("admin/enrollments/import")
+public class EnrollmentImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final EnrollmentImportService enrollmentImportService;
+
+    // one progress line per chunk; posting the same file again with the same importId resumes after the last committed chunk
+    @PostMapping(value = "/{importId}", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EnrollmentImportProgressDTO> importEnrollmentsCsv(@PathVariable String importId, @RequestBody Flux<String> csvLines){
+        // the body is split into lines by the String decoder; the header line and blank lines are not rows
+        return enrollmentImportService.importEnrollments(importId, csvLines
+                .filter(line -> !line.isBlank() && !line.startsWith("enrollmentYear"))
+                .map(EntityDTOUtils::toEnrollmentRequestDTO));
+    }
+
+    @PostMapping(value = "/{importId}", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EnrollmentImportProgressDTO> importEnrollmentsNdjson(@PathVariable String importId,
+                                                                     @RequestBody Flux<EnrollmentRequestDTO> enrollmentRequestDTOs){
+        return enrollmentImportService.importEnrollments(importId, enrollmentRequestDTOs);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentImportProgressDTO {
+
+    private String importId;
+    // zero-based; chunk n holds rows n * chunk-size up to (n + 1) * chunk-size - 1
+    private long chunk;
+    // the chunk was committed by an earlier attempt with the same importId and was not imported again
+    private boolean skipped;
+    private long rowsImported;
+    private long rowsRejected;
+    private long totalImported;
+    private long totalRejected;
+    // rows rejected by validation; rows that clash with a stored enrollment are only counted in rowsRejected
+    private List<BulkEnrollmentResultDTO> rejections;
+    // only on the last line of an import that stopped early: why, and the first chunk a resume imports again
+    private String stopReason;
+    private Long resumeFromChunk;
+
+
+}
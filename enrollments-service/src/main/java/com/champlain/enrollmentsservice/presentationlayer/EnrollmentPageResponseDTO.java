@@ -0,0 +1,21 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentPageResponseDTO {
+
+    private List<EnrollmentResponseDTO> enrollments;
+    // opaque cursor for the following page, null on the last page
+    private String next;
+
+
+}
@@ -0,0 +1,36 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface EnrollmentMapper {
+
+    EnrollmentMapper INSTANCE = Mappers.getMapper(EnrollmentMapper.class);
+
+    EnrollmentResponseDTO toEnrollmentResponseDTO(Enrollment enrollment);
+
+    // id, enrollmentId, validatedAt and version are assigned by the caller: a new UUID on add, the existing ones on update
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "enrollmentId", ignore = true)
+    @Mapping(target = "validatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "enrollmentYear", source = "enrollmentRequestDTO.enrollmentYear")
+    @Mapping(target = "semester", source = "enrollmentRequestDTO.semester")
+    @Mapping(target = "studentId", source = "studentResponseDTO.studentId")
+    @Mapping(target = "studentFirstName", source = "studentResponseDTO.firstName")
+    @Mapping(target = "studentLastName", source = "studentResponseDTO.lastName")
+    @Mapping(target = "courseId", source = "courseResponseDTO.courseId")
+    @Mapping(target = "courseNumber", source = "courseResponseDTO.courseNumber")
+    @Mapping(target = "courseName", source = "courseResponseDTO.courseName")
+    Enrollment toEnrollmentEntity(EnrollmentRequestDTO enrollmentRequestDTO,
+                                  StudentResponseDTO studentResponseDTO,
+                                  CourseResponseDTO courseResponseDTO);
+
+}
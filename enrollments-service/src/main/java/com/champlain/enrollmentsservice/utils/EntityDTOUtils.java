@@ -3,54 +3,70 @@ package com.champlain.enrollmentsservice.utils;
 import com.champlain.enrollmentsservice.businesslayer.RequestContextAdd;
 import com.champlain.enrollmentsservice.businesslayer.RequestContextUpdate;
 import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
 
-import org.springframework.beans.BeanUtils;
-
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 public class EntityDTOUtils {
 
 
         public static EnrollmentResponseDTO toEnrollmentResponseDTO(Enrollment enrollment){
-            EnrollmentResponseDTO enrollmentResponseDTO = new EnrollmentResponseDTO();
-            BeanUtils.copyProperties(enrollment, enrollmentResponseDTO);
-            return enrollmentResponseDTO;
-
+            return EnrollmentMapper.INSTANCE.toEnrollmentResponseDTO(enrollment);
         }
 
-        public static Enrollment toEnrollmentEntity(RequestContextAdd rc){
-            return Enrollment.builder()
-                    .enrollmentId(generateUUIDString())
-                    .courseId(rc.getCourseResponseDTO().getCourseId())
-                    .studentId(rc.getStudentResponseDTO().getStudentId())
-                    .enrollmentYear(rc.getEnrollmentRequestDTO().getEnrollmentYear())
-                    .courseNumber(rc.getCourseResponseDTO().getCourseNumber())
-                    .courseName(rc.getCourseResponseDTO().getCourseName())
-                    .semester(rc.getEnrollmentRequestDTO().getSemester())
-                    .studentFirstName(rc.getStudentResponseDTO().getFirstName())
-                    .studentLastName(rc.getStudentResponseDTO().getLastName())
-                    .build();
+        public static Enrollment toEnrollmentEntity(RequestContextAdd rc, String enrollmentId){
+            Enrollment enrollment = EnrollmentMapper.INSTANCE.toEnrollmentEntity(
+                    rc.getEnrollmentRequestDTO(), rc.getStudentResponseDTO(), rc.getCourseResponseDTO());
+            enrollment.setEnrollmentId(UUID.fromString(enrollmentId));
+            enrollment.setValidatedAt(LocalDateTime.now(ZoneOffset.UTC));
+            return enrollment;
         }
 
         public static Enrollment toUpdatedEnrollmentEntity(RequestContextUpdate rcu){
             Enrollment existingEnrollment = rcu.getEnrollment();
-            return Enrollment.builder()
-                    .enrollmentId(existingEnrollment.getEnrollmentId())
-                    .courseId(rcu.getCourseResponseDTO().getCourseId())
-                    .studentId(rcu.getStudentResponseDTO().getStudentId())
-                    .enrollmentYear(rcu.getEnrollmentRequestDTO().getEnrollmentYear())
-                    .courseNumber(rcu.getCourseResponseDTO().getCourseNumber())
-                    .courseName(rcu.getCourseResponseDTO().getCourseName())
-                    .semester(rcu.getEnrollmentRequestDTO().getSemester())
-                    .studentFirstName(rcu.getStudentResponseDTO().getFirstName())
-                    .studentLastName(rcu.getStudentResponseDTO().getLastName())
-                    .id(existingEnrollment.getId())
+            Enrollment enrollment = EnrollmentMapper.INSTANCE.toEnrollmentEntity(
+                    rcu.getEnrollmentRequestDTO(), rcu.getStudentResponseDTO(), rcu.getCourseResponseDTO());
+            enrollment.setEnrollmentId(existingEnrollment.getEnrollmentId());
+            enrollment.setId(existingEnrollment.getId());
+            enrollment.setValidatedAt(rcu.getValidatedAt());
+            enrollment.setVersion(existingEnrollment.getVersion());
+            return enrollment;
+        }
+
+        // enrollmentYear,semester,studentId,courseId; a value that cannot be parsed is left null, which
+        // EnrollmentBulkValidator then rejects
+        public static EnrollmentRequestDTO toEnrollmentRequestDTO(String csvLine){
+            String[] columns = csvLine.split(",", -1);
+            return EnrollmentRequestDTO.builder()
+                    .enrollmentYear(parseYear(column(columns, 0)))
+                    .semester(parseSemester(column(columns, 1)))
+                    .studentId(column(columns, 2))
+                    .courseId(column(columns, 3))
                     .build();
         }
-        public static String generateUUIDString(){
-            return UUID.randomUUID().toString();
 
+        private static String column(String[] columns, int index){
+            return index < columns.length && !columns[index].isBlank() ? columns[index].trim() : null;
+        }
+
+        private static Integer parseYear(String value){
+            try {
+                return value != null ? Integer.valueOf(value) : null;
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        private static Semester parseSemester(String value){
+            try {
+                return value != null ? Semester.valueOf(value.toUpperCase()) : null;
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
         }
 
 }
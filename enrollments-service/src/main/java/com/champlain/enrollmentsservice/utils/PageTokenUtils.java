@@ -0,0 +1,32 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class PageTokenUtils {
+
+    private static final String PREFIX = "id:";
+
+    public static String encode(Integer lastId){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // returns the id after which the next page starts, 0 when there is no token
+    public static Integer decode(String token){
+        if(token == null || token.isBlank())
+            return 0;
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if(!decoded.startsWith(PREFIX))
+                throw new InvalidInputException("Invalid page token: " + token);
+            return Integer.valueOf(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidInputException("Invalid page token: " + token, ex);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives every request a {@link StageTimings} in its Reactor context and reports whatever the
+ * business layer recorded in it as a Server-Timing response header.
+ */
+@Component
+public class ServerTimingFilter implements WebFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        StageTimings stageTimings = new StageTimings();
+
+        exchange.getResponse().beforeCommit(() -> {
+            if (!stageTimings.isEmpty())
+                exchange.getResponse().getHeaders().add(SERVER_TIMING, stageTimings.toServerTimingHeader());
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(StageTimings.class, stageTimings));
+    }
+}
@@ -0,0 +1,31 @@
+package com.champlain.enrollmentsservice.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Stage durations of a single request, carried in the Reactor context under {@code StageTimings.class}.
+ * Stages can finish on different threads (the student and course lookups run concurrently), hence the locking.
+ */
+public class StageTimings {
+
+    private final Map<String, Duration> durations = new LinkedHashMap<>();
+
+    public synchronized void record(String stage, Duration duration) {
+        durations.merge(stage, duration, Duration::plus);
+    }
+
+    public synchronized boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    // e.g. student-lookup;dur=12.41, course-lookup;dur=15.02, mapping;dur=0.05, save;dur=3.77
+    public synchronized String toServerTimingHeader() {
+        return durations.entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "%s;dur=%.2f", entry.getKey(), entry.getValue().toNanos() / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,88 @@
+package com.champlain.enrollmentsservice.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The student and course fields the synthetic enrollments reference and denormalize. These are copies of the
+ * SyntheticData functions of students-service and courses-service and have to stay in step with them, so the seeded
+ * enrollments point at students and courses those services seed from the same random seed.
+ */
+public final class SyntheticData {
+
+    private static final String[] FIRST_NAMES = {"Donna", "Lebron", "Erling", "Mike", "Sofia", "Amir", "Chloe", "Liam",
+            "Fatima", "Noah", "Yuki", "Olivia", "Mateo", "Aisha", "Lucas", "Emma", "Ravi", "Zoe", "Samuel", "Ines"};
+
+    private static final String[] LAST_NAMES = {"Hornsby", "James", "Haaland", "Tyson", "Tremblay", "Gagnon", "Roy",
+            "Nguyen", "Singh", "Martin", "Bouchard", "Garcia", "Cote", "Khan", "Lee", "Pelletier", "Smith", "Moreau",
+            "Ito", "Fortin"};
+
+    private static final String[] SUBJECTS = {"Web Services", "Databases", "Algorithms", "Operating Systems",
+            "Calculus", "Linear Algebra", "Statistics", "Discrete Mathematics",
+            "World History", "Philosophy", "Literature", "Ethics",
+            "Accounting", "Marketing", "Economics", "Management"};
+
+    private SyntheticData() {
+    }
+
+    public static UUID studentId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("student:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String studentFirstName(int index) {
+        return FIRST_NAMES[index % FIRST_NAMES.length];
+    }
+
+    public static String studentLastName(int index) {
+        return LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    public static UUID courseId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("course:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String courseNumber(int index) {
+        return String.format("420-%04d", index);
+    }
+
+    public static String courseName(int index) {
+        String subject = SUBJECTS[index % SUBJECTS.length];
+        return index < SUBJECTS.length ? subject : subject + " " + (index / SUBJECTS.length + 1);
+    }
+
+    public static UUID enrollmentId(long randomSeed, int studentIndex, int enrollmentIndex) {
+        return UUID.nameUUIDFromBytes(("enrollment:" + randomSeed + ":" + studentIndex + ":" + enrollmentIndex)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cumulative Zipf distribution over n ranks: rank k is picked with a weight of 1 / (k + 1)^exponent, so with
+     * an exponent around 1 a handful of courses take a large share of the enrollments and most stay small.
+     */
+    public static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for(int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for(int rank = 0; rank < n; rank++)
+            cumulative[rank] /= total;
+        return cumulative;
+    }
+
+    public static int sample(double[] cumulative, SplittableRandom random) {
+        double draw = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(cumulative[middle] < draw)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+}
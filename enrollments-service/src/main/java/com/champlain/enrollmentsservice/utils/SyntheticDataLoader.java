@@ -0,0 +1,126 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds app.seed.enrollments synthetic enrollments when the seed profile is active. They reference the
+ * app.seed.students students and app.seed.courses courses that students-service and courses-service seed from the
+ * same random seed, with the denormalized names those services hold (see SyntheticData), so no lookup is needed.
+ * <p>
+ * Every student gets the same share of the enrollments, app.seed.enrollments-per-term courses per term starting
+ * from a term between app.seed.first-year and two years later. Courses are drawn from a Zipf distribution
+ * (app.seed.course-skew): the first courses are the popular ones. A student never takes the same course twice in
+ * a term, so app.seed.enrollments rows are written, chunk by chunk with importEnrollments (COPY on PostgreSQL).
+ * <p>
+ * The runner blocks until the last chunk is committed: Spring Boot only switches the readiness state to
+ * ACCEPTING_TRAFFIC once the application runners have returned, so /actuator/health/readiness stays down while
+ * seeding.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${app.seed.students:10000}")
+    private int students;
+
+    @Value("${app.seed.courses:500}")
+    private int courses;
+
+    @Value("${app.seed.enrollments:100000}")
+    private int enrollments;
+
+    @Value("${app.seed.enrollments-per-term:5}")
+    private int enrollmentsPerTerm;
+
+    @Value("${app.seed.first-year:2022}")
+    private int firstYear;
+
+    @Value("${app.seed.course-skew:1.0}")
+    private double courseSkew;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.seed.timeout:10m}")
+    private Duration timeout;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        double[] coursePopularity = SyntheticData.zipfCumulative(courses, courseSkew);
+        LocalDateTime validatedAt = LocalDateTime.now(ZoneOffset.UTC);
+
+        Long written = Flux.range(0, students)
+                .concatMapIterable(student -> enrollmentsOf(student, coursePopularity, validatedAt))
+                .buffer(chunkSize)
+                .concatMap(chunk -> enrollmentRepository.importEnrollments(chunk).as(transactionalOperator::transactional))
+                .reduce(0L, Long::sum)
+                .block(timeout);
+
+        log.info("Seeded {} enrollments of {} students in {} courses in {} ms", written, students, courses,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    List<Enrollment> enrollmentsOf(int student, double[] coursePopularity, LocalDateTime validatedAt) {
+        int count = enrollments / students + (student < enrollments % students ? 1 : 0);
+        int perTerm = Math.min(enrollmentsPerTerm, courses);
+        SplittableRandom random = new SplittableRandom(randomSeed * 31 + student);
+
+        List<Enrollment> studentEnrollments = new ArrayList<>(count);
+        Set<Integer> termCourses = new HashSet<>();
+        for(int n = 0; n < count; n++) {
+            if(n % perTerm == 0)
+                termCourses.clear();
+
+            int course;
+            do {
+                course = SyntheticData.sample(coursePopularity, random);
+            } while(!termCourses.add(course));
+
+            int term = student % (2 * SEMESTERS.length) + n / perTerm;
+            studentEnrollments.add(Enrollment.builder()
+                    .enrollmentId(SyntheticData.enrollmentId(randomSeed, student, n))
+                    .enrollmentYear(firstYear + term / SEMESTERS.length)
+                    .semester(SEMESTERS[term % SEMESTERS.length])
+                    .studentId(SyntheticData.studentId(randomSeed, student))
+                    .studentFirstName(SyntheticData.studentFirstName(student))
+                    .studentLastName(SyntheticData.studentLastName(student))
+                    .courseId(SyntheticData.courseId(randomSeed, course))
+                    .courseNumber(SyntheticData.courseNumber(course))
+                    .courseName(SyntheticData.courseName(course))
+                    .validatedAt(validatedAt)
+                    .build());
+        }
+        return studentEnrollments;
+    }
+}
@@ -0,0 +1,15 @@
+package com.champlain.enrollmentsservice.utils.exceptions;
+
+// a downstream service rejected a request as the caller's mistake (a 4xx other than 404); answered with 422 like
+// any other invalid input, and never counted as a failure of the downstream service
+public class DownstreamClientException extends InvalidInputException {
+
+    public DownstreamClientException(){}
+
+    public DownstreamClientException(String message) { super(message); }
+
+    public DownstreamClientException(Throwable cause){  super(cause);  }
+
+    public DownstreamClientException(String message, Throwable cause){ super(message, cause);   }
+
+}
@@ -0,0 +1,38 @@
+-- Converts an enrollments table created with the VARCHAR id and semester columns (Postgres).
+-- The id columns become native UUIDs and the semester its SMALLINT code (see Semester), in place;
+-- Postgres rebuilds the indexes and the unique term constraint on the new types as part of the ALTER.
+-- Rows whose ids are not UUIDs make the ALTER fail, and rows with a semester other than the four names make the
+-- check before it fail; either way the transaction is rolled back and the table left untouched. Run it with
+-- psql -v ON_ERROR_STOP=1 so that nothing after the failing statement is attempted.
+
+BEGIN;
+
+-- the CASE below would turn any other spelling into NULL, which the unique term constraint does not compare
+DO $$
+DECLARE
+    unknown TEXT;
+BEGIN
+    SELECT string_agg(DISTINCT quote_nullable(semester), ', ') INTO unknown
+    FROM enrollments
+    WHERE semester IS NULL OR semester NOT IN ('WINTER', 'SPRING', 'SUMMER', 'FALL');
+
+    IF unknown IS NOT NULL THEN
+        RAISE EXCEPTION 'enrollments holds semesters other than WINTER, SPRING, SUMMER and FALL: %', unknown;
+    END IF;
+END
+$$;
+
+ALTER TABLE enrollments
+    ALTER COLUMN enrollmentId TYPE UUID USING enrollmentId::uuid,
+    ALTER COLUMN studentId TYPE UUID USING studentId::uuid,
+    ALTER COLUMN courseId TYPE UUID USING courseId::uuid,
+    ALTER COLUMN semester TYPE SMALLINT USING CASE semester
+        WHEN 'WINTER' THEN 0
+        WHEN 'SPRING' THEN 1
+        WHEN 'SUMMER' THEN 2
+        WHEN 'FALL' THEN 3
+    END;
+
+COMMIT;
+
+VACUUM FULL ANALYZE enrollments;
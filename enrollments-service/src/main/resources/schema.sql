@@ -1,16 +1,39 @@
+DROP TABLE IF EXISTS enrollment_import_chunks;
 DROP TABLE IF EXISTS enrollments;
 
 CREATE TABLE IF NOT EXISTS enrollments
 (
     id               SERIAL,
-    enrollmentId     VARCHAR(36),
+    enrollmentId     UUID,
     enrollmentYear   SMALLINT,
-    semester        VARCHAR(50),
-    studentId        VARCHAR(36),
+    semester         SMALLINT,
+    studentId        UUID,
     studentFirstName VARCHAR(50),
     studentLastName  VARCHAR(50),
-    courseId         VARCHAR(36),
+    courseId         UUID,
     courseNumber     VARCHAR(50),
     courseName       VARCHAR(50),
-    PRIMARY KEY (id)
-    );
\ No newline at end of file
+    validatedAt      TIMESTAMP,
+    version          BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uq_enrollments_student_course_term UNIQUE (studentId, courseId, enrollmentYear, semester)
+    );
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_enrollments_enrollment_id ON enrollments (enrollmentId);
+CREATE INDEX IF NOT EXISTS ix_enrollments_student_id ON enrollments (studentId, id);
+CREATE INDEX IF NOT EXISTS ix_enrollments_course_id ON enrollments (courseId, id);
+CREATE INDEX IF NOT EXISTS ix_enrollments_year_semester ON enrollments (enrollmentYear, semester);
+
+-- chunks committed by each enrollment import, so that a resumed import skips them
+CREATE TABLE IF NOT EXISTS enrollment_import_chunks
+(
+    id           SERIAL,
+    importId     VARCHAR(64) NOT NULL,
+    chunkIndex   BIGINT      NOT NULL,
+    chunkSize    INTEGER     NOT NULL,
+    rowsImported BIGINT,
+    rowsRejected BIGINT,
+    importedAt   TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT uq_enrollment_import_chunks_import_chunk UNIQUE (importId, chunkIndex)
+    );
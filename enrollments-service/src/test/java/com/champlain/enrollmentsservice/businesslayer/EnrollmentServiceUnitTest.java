@@ -1,29 +1,51 @@
 package com.champlain.enrollmentsservice.businesslayer;
 
 import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentQuery;
 import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
 import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import com.champlain.enrollmentsservice.domainclientlayer.CourseClient;
 import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
 import com.champlain.enrollmentsservice.domainclientlayer.StudentClient;
 import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.presentationlayer.BulkEnrollmentResultDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
 import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
+import com.champlain.enrollmentsservice.utils.exceptions.ConflictException;
+import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.SPRING;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -66,13 +88,13 @@ class EnrollmentServiceUnitTest {
 
     Enrollment enrollment = Enrollment.builder()
 
-            .enrollmentId("c2db7b50-26b5-43f0-ab03-8dc5dab937fb")
+            .enrollmentId(UUID.fromString("c2db7b50-26b5-43f0-ab03-8dc5dab937fb"))
             .enrollmentYear(2023)
             .semester(SPRING)
-            .studentId("c2db7b50-26b5-43f0-ab03-8dc5dab937fb")
+            .studentId(UUID.fromString("c2db7b50-26b5-43f0-ab03-8dc5dab937fb"))
             .studentFirstName("John")
             .studentLastName("Doe")
-            .courseId("c2db7b50-26b5-43f0-ab03-8dc5dab937fb")
+            .courseId(UUID.fromString("c2db7b50-26b5-43f0-ab03-8dc5dab937fb"))
             .courseName("CourseName")
             .courseNumber("420-NA")
             .build();
@@ -80,25 +102,25 @@ class EnrollmentServiceUnitTest {
     @Test
     void getEnrollmentByEnrollmentId_ValidId_shouldSucceed(){
         //arrange
-        when(enrollmentRepository.findEnrollmentByEnrollmentId(anyString()))
+        when(enrollmentRepository.findEnrollmentByEnrollmentId(any(UUID.class)))
                 .thenReturn(Mono.just(enrollment));
 
         //act
         Mono<EnrollmentResponseDTO> enrollmentResponseDTOMono = enrollmentService
-                .getEnrollmentById(enrollment.getEnrollmentId());
+                .getEnrollmentById(enrollment.getEnrollmentId().toString());
 
         //assert
         StepVerifier
                 .create(enrollmentResponseDTOMono)
                 .consumeNextWith(foundEnrollment ->{
                     assertNotNull(foundEnrollment);
-                    assertEquals(enrollment.getEnrollmentId(), foundEnrollment.getEnrollmentId());
+                    assertEquals(enrollment.getEnrollmentId().toString(), foundEnrollment.getEnrollmentId());
                     assertEquals(enrollment.getEnrollmentYear(), foundEnrollment.getEnrollmentYear());
                     assertEquals(enrollment.getSemester(), foundEnrollment.getSemester());
-                    assertEquals(enrollment.getStudentId(), foundEnrollment.getStudentId());
+                    assertEquals(enrollment.getStudentId().toString(), foundEnrollment.getStudentId());
                     assertEquals(enrollment.getStudentFirstName(), foundEnrollment.getStudentFirstName());
                     assertEquals(enrollment.getStudentLastName(), foundEnrollment.getStudentLastName());
-                    assertEquals(enrollment.getCourseId(), foundEnrollment.getCourseId());
+                    assertEquals(enrollment.getCourseId().toString(), foundEnrollment.getCourseId());
                     assertEquals(enrollment.getCourseName(), foundEnrollment.getCourseName());
                     assertEquals(enrollment.getCourseNumber(), foundEnrollment.getCourseNumber());
 
@@ -109,13 +131,11 @@ class EnrollmentServiceUnitTest {
     @Test
     void getAllEnrollments() {
         //arrange
-        when(enrollmentRepository.findAll()).thenReturn(Flux.just(enrollment));
-
-        when(enrollmentRepository.findAllEnrollmentByStudentId(anyString())).thenReturn(Flux.just(enrollment));
+        when(enrollmentRepository.findAllEnrollmentMatching(any())).thenReturn(Flux.just(enrollment));
 
         //act
         Map<String, String> queryParameters = new HashMap<>();
-        queryParameters.put("studentId", "id");
+        queryParameters.put("studentId", enrollment.getStudentId().toString());
 
         Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(queryParameters);
 
@@ -125,32 +145,139 @@ class EnrollmentServiceUnitTest {
                 .consumeNextWith(foundEnrollment ->{
 
                     assertNotNull(foundEnrollment);
-                    assertEquals(enrollment.getEnrollmentId(), foundEnrollment.getEnrollmentId());
+                    assertEquals(enrollment.getEnrollmentId().toString(), foundEnrollment.getEnrollmentId());
                     assertEquals(enrollment.getEnrollmentYear(), foundEnrollment.getEnrollmentYear());
                     assertEquals(enrollment.getSemester(), foundEnrollment.getSemester());
-                    assertEquals(enrollment.getStudentId(), foundEnrollment.getStudentId());
+                    assertEquals(enrollment.getStudentId().toString(), foundEnrollment.getStudentId());
                     assertEquals(enrollment.getStudentFirstName(), foundEnrollment.getStudentFirstName());
                     assertEquals(enrollment.getStudentLastName(), foundEnrollment.getStudentLastName());
-                    assertEquals(enrollment.getCourseId(), foundEnrollment.getCourseId());
+                    assertEquals(enrollment.getCourseId().toString(), foundEnrollment.getCourseId());
                     assertEquals(enrollment.getCourseNumber(), foundEnrollment.getCourseNumber());
                     assertEquals(enrollment.getCourseName(), foundEnrollment.getCourseName());
                 })
                 .verifyComplete();
     }
 
+    // serves rowCount enrollments with ids 1..rowCount by keyset, and records the cursor and limit of every query
+    private List<String> storeOf(int rowCount) {
+        List<String> queries = new ArrayList<>();
+        when(enrollmentRepository.findAllEnrollmentMatching(any())).thenAnswer(invocation -> {
+            EnrollmentQuery query = invocation.getArgument(0);
+            int afterId = query.getAfterId() == null ? 0 : query.getAfterId();
+            queries.add(afterId + ":" + query.getLimit());
+            return Flux.range(afterId + 1, Math.max(0, Math.min(query.getLimit(), rowCount - afterId)))
+                    .map(id -> enrollment.toBuilder().id(id).build());
+        });
+        return queries;
+    }
+
+    @Test
+    void getAllEnrollments_withoutLimit_shouldStreamEveryRowPageByPage() {
+        //arrange
+        List<String> queries = storeOf(1000);
+
+        //act
+        Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(new HashMap<>());
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOFlux)
+                .expectNextCount(1000)
+                .verifyComplete();
+
+        assertEquals(List.of("0:500", "500:500", "1000:500"), queries);
+    }
+
+    @Test
+    void getAllEnrollments_limitAcrossPages_shouldStopAtLimit() {
+        //arrange
+        List<String> queries = storeOf(1000);
+
+        //act
+        Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(Map.of("limit", "600"));
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOFlux)
+                .expectNextCount(600)
+                .verifyComplete();
+
+        assertEquals(List.of("0:500", "500:100"), queries);
+    }
+
+    @Test
+    void getAllEnrollments_slowConsumer_shouldQueryNextPageOnDemand() {
+        //arrange
+        List<String> queries = storeOf(1000);
+
+        //act
+        Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(new HashMap<>());
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOFlux, 10)
+                .expectNextCount(10)
+                .then(() -> assertEquals(List.of("0:500"), queries))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void getAllEnrollments_sortedWithoutLimit_shouldBeRejected() {
+        //act
+        Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(Map.of("sort", "courseName"));
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOFlux)
+                .expectErrorMatches(error -> error instanceof InvalidInputException
+                        && error.getMessage().equals("Sorting by courseName needs a limit of at most 500, or leave out the sort to stream every row in id order"))
+                .verify();
+
+        verify(enrollmentRepository, never()).findAllEnrollmentMatching(any());
+    }
+
+    @Test
+    void getAllEnrollments_sortedWithLimit_shouldRunOneQuery() {
+        //arrange
+        List<String> queries = storeOf(1000);
+
+        //act
+        Flux<EnrollmentResponseDTO> enrollmentResponseDTOFlux = enrollmentService.getAllEnrollments(Map.of("sort", "courseName", "limit", "20"));
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOFlux)
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertEquals(List.of("0:20"), queries);
+    }
+
     @Test
     void removeEnrollmentByValidEnrollmentId_ShouldSucceed() {
         //Arrange
         String enrollmentId = "c2db7b50-26b5-43f0-ab03-8dc5dab937fb";
 
-        when(enrollmentRepository.delete(any(Enrollment.class)))
-                .thenReturn(Mono.empty());
+        when(enrollmentRepository.deleteEnrollmentByEnrollmentId(UUID.fromString(enrollmentId)))
+                .thenReturn(Mono.just(1));
 
-        when(enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId))
-                .thenReturn(Mono.just(new Enrollment()));
+        //Act
+        Mono<Void> deletionMono = enrollmentService.deleteEnrollmentById(enrollmentId);
 
-        when(enrollmentRepository.delete(any(Enrollment.class)))
-                .thenReturn(Mono.empty());
+        //Assert
+        StepVerifier
+                .create(deletionMono)
+                .verifyComplete();
+    }
+
+    @Test
+    void removeEnrollmentByUnknownEnrollmentId_ShouldThrowNotFound() {
+        //Arrange
+        String enrollmentId = "c2db7b50-26b5-43f0-ab03-8dc5dab937fb";
+
+        when(enrollmentRepository.deleteEnrollmentByEnrollmentId(UUID.fromString(enrollmentId)))
+                .thenReturn(Mono.just(0));
 
         //Act
         Mono<Void> deletionMono = enrollmentService.deleteEnrollmentById(enrollmentId);
@@ -158,6 +285,345 @@ class EnrollmentServiceUnitTest {
         //Assert
         StepVerifier
                 .create(deletionMono)
+                .expectErrorMessage("No enrollment with this enrollmentId was found: " + enrollmentId)
+                .verify();
+    }
+
+    @Test
+    void addEnrollment_studentNotFound_shouldCancelCourseLookup() {
+        //arrange
+        PublisherProbe<CourseResponseDTO> courseLookup = PublisherProbe.of(Mono.never());
+
+        when(studentClient.getStudentByStudentId(anyString()))
+                .thenReturn(Mono.error(new NotFoundException("StudentId not found: " + enrollmentRequestDTO.getStudentId())));
+
+        when(courseClient.getCourseByCourseId(anyString()))
+                .thenReturn(courseLookup.mono());
+
+        //act
+        Mono<EnrollmentResponseDTO> enrollmentResponseDTOMono = enrollmentService.addEnrollment(Mono.just(enrollmentRequestDTO));
+
+        //assert
+        StepVerifier
+                .create(enrollmentResponseDTOMono)
+                .expectError(NotFoundException.class)
+                .verify();
+
+        courseLookup.assertWasSubscribed();
+        courseLookup.assertWasCancelled();
+    }
+
+    @Test
+    void addEnrollment_lookupsPastDeadline_shouldBeUnavailable() {
+        //arrange
+        when(studentClient.getStudentByStudentId(anyString()))
+                .thenReturn(Mono.never());
+
+        when(courseClient.getCourseByCourseId(anyString()))
+                .thenReturn(Mono.just(courseResponseDTO));
+
+        //act and assert
+        StepVerifier
+                .withVirtualTime(() -> enrollmentService.addEnrollment(Mono.just(enrollmentRequestDTO)))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(5))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ServiceUnavailableException.class, error);
+                    assertEquals("The enrollment could not be validated within PT5S", error.getMessage());
+                })
+                .verify();
+
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    void addEnrollments_mixedRows_shouldLookUpOnceAndInsertValidRowsTogether() {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        when(enrollmentRepository.insertEnrollments(anyList()))
+                .thenReturn(Mono.just(1L));
+
+        EnrollmentRequestDTO unknownStudent = enrollmentRequestDTO.toBuilder().studentId(UUID.randomUUID().toString()).build();
+        EnrollmentRequestDTO invalidCourseId = enrollmentRequestDTO.toBuilder().courseId("12345").build();
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = enrollmentService.addEnrollments(
+                Flux.just(enrollmentRequestDTO, unknownStudent, enrollmentRequestDTO, invalidCourseId));
+
+        //assert
+        StepVerifier
+                .create(results)
+                .consumeNextWith(result -> {
+                    assertEquals(0, result.getIndex());
+                    assertEquals(201, result.getStatus());
+                    assertNotNull(result.getEnrollmentId());
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(1, result.getIndex());
+                    assertEquals(404, result.getStatus());
+                    assertEquals("StudentId not found: " + unknownStudent.getStudentId(), result.getMessage());
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(2, result.getIndex());
+                    assertEquals(422, result.getStatus());
+                    assertNull(result.getEnrollmentId());
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(3, result.getIndex());
+                    assertEquals(422, result.getStatus());
+                    assertEquals("The courseId needs to be a UUID: 12345", result.getMessage());
+                })
+                .verifyComplete();
+
+        verify(studentClient).getStudentsByStudentIds(anyCollection());
+        verify(courseClient).getCoursesByCourseIds(anyCollection());
+        verify(enrollmentRepository).insertEnrollments(argThat(enrollments -> enrollments.size() == 1));
+        verify(studentClient, never()).getStudentByStudentId(anyString());
+    }
+
+    @Test
+    void addEnrollments_studentsServiceUnavailable_shouldFailRowsWith503() {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.error(new ServiceUnavailableException("The students-service failed the lookup with 500 INTERNAL_SERVER_ERROR")));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = enrollmentService.addEnrollments(Flux.just(enrollmentRequestDTO));
+
+        //assert
+        StepVerifier
+                .create(results)
+                .consumeNextWith(result -> {
+                    assertEquals(503, result.getStatus());
+                    assertNull(result.getEnrollmentId());
+                })
+                .verifyComplete();
+
+        verify(enrollmentRepository, never()).insertEnrollments(anyList());
+    }
+
+    @Test
+    void addEnrollments_unexpectedLookupError_shouldPropagate() {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.error(new IllegalStateException("Unexpected lookup response")));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = enrollmentService.addEnrollments(Flux.just(enrollmentRequestDTO));
+
+        //assert
+        StepVerifier
+                .create(results)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(enrollmentRepository, never()).insertEnrollments(anyList());
+    }
+
+    @Test
+    void addEnrollments_rowAlreadyStored_shouldFallBackToSingleRowInserts() {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        // 2023 is already stored, so every statement containing that row fails on the unique term constraint
+        when(enrollmentRepository.insertEnrollments(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Enrollment> enrollments = invocation.getArgument(0);
+                    return enrollments.stream().anyMatch(e -> e.getEnrollmentYear() == 2023)
+                            ? Mono.error(new DataIntegrityViolationException("uq_enrollments_student_course_term"))
+                            : Mono.just((long) enrollments.size());
+                });
+
+        EnrollmentRequestDTO nextYear = enrollmentRequestDTO.toBuilder().enrollmentYear(2024).build();
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = enrollmentService.addEnrollments(Flux.just(enrollmentRequestDTO, nextYear));
+
+        //assert
+        StepVerifier
+                .create(results)
+                .consumeNextWith(result -> {
+                    assertEquals(422, result.getStatus());
+                    assertEquals("The student " + studentResponseDTO.getStudentId() + " is already enrolled in the course "
+                            + courseResponseDTO.getCourseId() + " for FALL 2023", result.getMessage());
+                })
+                .consumeNextWith(result -> assertEquals(201, result.getStatus()))
                 .verifyComplete();
+
+        verify(enrollmentRepository, times(3)).insertEnrollments(anyList());
+    }
+
+    @Test
+    void updateEnrollment_termOnlyChange_shouldUpdateInPlace() {
+        //arrange
+        Enrollment updatedEnrollment = enrollment.toBuilder()
+                .id(1)
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .version(1L)
+                .build();
+
+        when(enrollmentRepository.updateEnrollmentTerm(eq(enrollment.getEnrollmentId()), eq(enrollment.getStudentId()),
+                eq(enrollment.getCourseId()), eq(2024), eq(Semester.FALL), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(updatedEnrollment));
+
+        EnrollmentRequestDTO termChange = EnrollmentRequestDTO.builder()
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .studentId(enrollment.getStudentId().toString())
+                .courseId(enrollment.getCourseId().toString())
+                .build();
+
+        //act
+        Mono<EnrollmentResponseDTO> updated = enrollmentService.updateEnrollment(Mono.just(termChange), enrollment.getEnrollmentId().toString());
+
+        //assert
+        StepVerifier
+                .create(updated)
+                .consumeNextWith(enrollmentResponseDTO -> {
+                    assertEquals(2024, enrollmentResponseDTO.getEnrollmentYear());
+                    assertEquals(Semester.FALL, enrollmentResponseDTO.getSemester());
+                    assertEquals(enrollment.getStudentFirstName(), enrollmentResponseDTO.getStudentFirstName());
+                    assertEquals(enrollment.getCourseName(), enrollmentResponseDTO.getCourseName());
+                })
+                .verifyComplete();
+
+        verify(enrollmentRepository, never()).findEnrollmentByEnrollmentId(any(UUID.class));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+        verify(studentClient, never()).getStudentByStudentId(anyString());
+        verify(courseClient, never()).getCourseByCourseId(anyString());
+    }
+
+    @Test
+    void updateEnrollment_courseChangedWithFreshCopy_shouldOnlyLookUpCourse() {
+        //arrange
+        LocalDateTime validatedAt = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(5);
+        Enrollment existingEnrollment = enrollment.toBuilder().id(1).validatedAt(validatedAt).version(0L).build();
+        CourseResponseDTO newCourse = CourseResponseDTO.builder()
+                .courseId("0f4e6f2b-6a1c-4c52-9a43-2f2b6a8f5e11")
+                .courseName("Distributed Systems")
+                .courseNumber("420-N55-LA")
+                .build();
+
+        when(enrollmentRepository.updateEnrollmentTerm(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+        when(enrollmentRepository.findEnrollmentByEnrollmentId(existingEnrollment.getEnrollmentId()))
+                .thenReturn(Mono.just(existingEnrollment));
+        when(enrollmentRepository.save(any(Enrollment.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(courseClient.getCourseByCourseId(newCourse.getCourseId()))
+                .thenReturn(Mono.just(newCourse));
+
+        EnrollmentRequestDTO courseChange = EnrollmentRequestDTO.builder()
+                .enrollmentYear(existingEnrollment.getEnrollmentYear())
+                .semester(existingEnrollment.getSemester())
+                .studentId(existingEnrollment.getStudentId().toString())
+                .courseId(newCourse.getCourseId())
+                .build();
+
+        //act
+        Mono<EnrollmentResponseDTO> updated = enrollmentService.updateEnrollment(Mono.just(courseChange), existingEnrollment.getEnrollmentId().toString());
+
+        //assert
+        StepVerifier
+                .create(updated)
+                .consumeNextWith(enrollmentResponseDTO -> {
+                    assertEquals(existingEnrollment.getStudentFirstName(), enrollmentResponseDTO.getStudentFirstName());
+                    assertEquals(newCourse.getCourseId(), enrollmentResponseDTO.getCourseId());
+                    assertEquals(newCourse.getCourseName(), enrollmentResponseDTO.getCourseName());
+                })
+                .verifyComplete();
+
+        verify(studentClient, never()).getStudentByStudentId(anyString());
+        verify(enrollmentRepository).save(argThat(saved ->
+                validatedAt.equals(saved.getValidatedAt()) && Long.valueOf(0L).equals(saved.getVersion())));
+    }
+
+    @Test
+    void updateEnrollment_rowChangedSinceLoaded_shouldFailWithConflict() {
+        //arrange
+        LocalDateTime validatedAt = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(5);
+        Enrollment existingEnrollment = enrollment.toBuilder().id(1).validatedAt(validatedAt).version(0L).build();
+        CourseResponseDTO newCourse = CourseResponseDTO.builder()
+                .courseId("0f4e6f2b-6a1c-4c52-9a43-2f2b6a8f5e11")
+                .courseName("Distributed Systems")
+                .courseNumber("420-N55-LA")
+                .build();
+
+        when(enrollmentRepository.updateEnrollmentTerm(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+        when(enrollmentRepository.findEnrollmentByEnrollmentId(existingEnrollment.getEnrollmentId()))
+                .thenReturn(Mono.just(existingEnrollment));
+        when(enrollmentRepository.save(any(Enrollment.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("Failed to update versioned entity")));
+        when(courseClient.getCourseByCourseId(newCourse.getCourseId()))
+                .thenReturn(Mono.just(newCourse));
+
+        EnrollmentRequestDTO courseChange = EnrollmentRequestDTO.builder()
+                .enrollmentYear(existingEnrollment.getEnrollmentYear())
+                .semester(existingEnrollment.getSemester())
+                .studentId(existingEnrollment.getStudentId().toString())
+                .courseId(newCourse.getCourseId())
+                .build();
+
+        //act
+        Mono<EnrollmentResponseDTO> updated = enrollmentService.updateEnrollment(Mono.just(courseChange), existingEnrollment.getEnrollmentId().toString());
+
+        //assert
+        StepVerifier
+                .create(updated)
+                .expectErrorMatches(error -> error instanceof ConflictException
+                        && error.getMessage().contains("modified concurrently"))
+                .verify();
+    }
+
+    @Test
+    void updateEnrollment_staleCopy_shouldRevalidateBothReferences() {
+        //arrange
+        Enrollment existingEnrollment = enrollment.toBuilder()
+                .id(1)
+                .validatedAt(LocalDateTime.now(ZoneOffset.UTC).minusDays(2))
+                .build();
+
+        when(enrollmentRepository.updateEnrollmentTerm(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+        when(enrollmentRepository.findEnrollmentByEnrollmentId(existingEnrollment.getEnrollmentId()))
+                .thenReturn(Mono.just(existingEnrollment));
+        when(enrollmentRepository.save(any(Enrollment.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(studentClient.getStudentByStudentId(existingEnrollment.getStudentId().toString()))
+                .thenReturn(Mono.just(studentResponseDTO));
+        when(courseClient.getCourseByCourseId(existingEnrollment.getCourseId().toString()))
+                .thenReturn(Mono.just(courseResponseDTO));
+
+        //act
+        Mono<EnrollmentResponseDTO> updated = enrollmentService.updateEnrollment(Mono.just(enrollmentRequestDTO), existingEnrollment.getEnrollmentId().toString());
+
+        //assert
+        StepVerifier
+                .create(updated)
+                .consumeNextWith(enrollmentResponseDTO -> {
+                    assertEquals(studentResponseDTO.getFirstName(), enrollmentResponseDTO.getStudentFirstName());
+                    assertEquals(courseResponseDTO.getCourseName(), enrollmentResponseDTO.getCourseName());
+                })
+                .verifyComplete();
+
+        verify(studentClient).getStudentByStudentId(existingEnrollment.getStudentId().toString());
+        verify(courseClient).getCourseByCourseId(existingEnrollment.getCourseId().toString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.FALL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentCsvTest {
+
+    private final UUID enrollmentId = UUID.fromString("0190f1c2-0000-7000-8000-000000000001");
+    private final UUID studentId = UUID.fromString("c3540a89-cb47-4c96-888e-ff96708db4d8");
+    private final UUID courseId = UUID.fromString("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223");
+
+    private Enrollment.EnrollmentBuilder enrollment() {
+        return Enrollment.builder()
+                .enrollmentId(enrollmentId)
+                .enrollmentYear(2030)
+                .semester(FALL)
+                .studentId(studentId)
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId(courseId)
+                .courseNumber("420-N45-LA")
+                .courseName("Web Services")
+                .validatedAt(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_789));
+    }
+
+    private String toCsv(Enrollment... enrollments) {
+        return StandardCharsets.UTF_8.decode(EnrollmentRepositoryCustomImpl.toCsv(List.of(enrollments))).toString();
+    }
+
+    @Test
+    void toCsv_shouldWriteOneLinePerEnrollmentInInsertColumnOrder(){
+        //act
+        String csv = toCsv(enrollment().build(), enrollment().enrollmentYear(2031).build());
+
+        //assert
+        String line = enrollmentId + ",2030,3," + studentId + ",\"Donna\",\"Hornsby\"," + courseId
+                + ",\"420-N45-LA\",\"Web Services\",2030-01-02 03:04:05.123456\n";
+        assertEquals(line + line.replace(",2030,", ",2031,"), csv);
+    }
+
+    @Test
+    void toCsv_nullTextAndTimestamp_shouldBeUnquotedEmptyFields(){
+        //act
+        String csv = toCsv(enrollment().studentFirstName(null).courseName(null).validatedAt(null).build());
+
+        //assert
+        assertEquals(enrollmentId + ",2030,3," + studentId + ",,\"Hornsby\"," + courseId + ",\"420-N45-LA\",,\n", csv);
+    }
+
+    @Test
+    void toCsv_emptyText_shouldStayQuotedSoItIsNotReadAsNull(){
+        //act
+        String csv = toCsv(enrollment().studentFirstName("").build());
+
+        //assert
+        assertTrue(csv.contains("," + studentId + ",\"\",\"Hornsby\","), csv);
+    }
+
+    @Test
+    void toCsv_quotesCommasAndLineBreaks_shouldStayInsideTheField(){
+        //act
+        String csv = toCsv(enrollment().studentLastName("O\"Neil, Jr.\nII").build());
+
+        //assert
+        assertTrue(csv.contains(",\"Donna\",\"O\"\"Neil, Jr.\nII\"," + courseId + ","), csv);
+    }
+
+    @Test
+    void toCsv_wholeSeconds_shouldKeepSecondsAndMicroseconds(){
+        //act
+        String csv = toCsv(enrollment().validatedAt(LocalDateTime.of(2030, 1, 2, 3, 4)).build());
+
+        //assert
+        assertTrue(csv.endsWith(",2030-01-02 03:04:00.000000\n"), csv);
+    }
+}
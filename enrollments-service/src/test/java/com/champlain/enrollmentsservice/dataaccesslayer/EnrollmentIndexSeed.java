@@ -0,0 +1,56 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+// The generated enrollments the index tests query: 20 enrollments per student, each in a different course, so the
+// unique term constraint holds; ids are UUIDs built from the row number, semester its SMALLINT code
+final class EnrollmentIndexSeed {
+
+    private EnrollmentIndexSeed() {
+    }
+
+    static void insert(DatabaseClient databaseClient, int rows){
+        String seed = "INSERT INTO enrollments (enrollmentId, enrollmentYear, semester, studentId, studentFirstName, " +
+                "studentLastName, courseId, courseNumber, courseName) " +
+                "SELECT CAST(" + uuidOf("X", "1") + " AS UUID), 1000 + MOD(X, 1000), MOD(X, 4), " +
+                "CAST(" + uuidOf("X / 20", "2") + " AS UUID), 'First', 'Last', " +
+                "CAST(" + uuidOf("MOD(X, 2000)", "3") + " AS UUID), '420-NA', 'CourseName' " +
+                "FROM SYSTEM_RANGE(1, " + rows + ")";
+
+        StepVerifier
+                .create(databaseClient.sql(seed).fetch().rowsUpdated())
+                .expectNext((long) rows)
+                .verifyComplete();
+    }
+
+    static void delete(DatabaseClient databaseClient){
+        StepVerifier
+                .create(databaseClient.sql("DELETE FROM enrollments").fetch().rowsUpdated())
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    static UUID enrollmentId(int n){
+        return uuid(1, n);
+    }
+
+    static UUID studentId(int n){
+        return uuid(2, n);
+    }
+
+    static UUID courseId(int n){
+        return uuid(3, n);
+    }
+
+    // 0000000k-0000-0000-0000-<n padded to 12 digits>: one deterministic UUID per (kind, n)
+    private static String uuidOf(String n, String kind){
+        return "'0000000" + kind + "-0000-0000-0000-' || LPAD(CAST(" + n + " AS VARCHAR), 12, '0')";
+    }
+
+    private static UUID uuid(int kind, int n){
+        return UUID.fromString(String.format("0000000%d-0000-0000-0000-%012d", kind, n));
+    }
+}
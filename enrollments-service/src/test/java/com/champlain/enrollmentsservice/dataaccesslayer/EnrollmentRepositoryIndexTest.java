@@ -0,0 +1,63 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The query plans only need enough rows for the optimizer to prefer an index; EnrollmentRepositoryIndexTimingTest
+// measures the lookups on a million rows
+@DataR2dbcTest
+@Import(R2dbcConversionsConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EnrollmentRepositoryIndexTest {
+
+    private static final int ROWS = Integer.getInteger("enrollments.index-test.rows", 10_000);
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeAll
+    public void seedDB(){
+        EnrollmentIndexSeed.insert(databaseClient, ROWS);
+    }
+
+    @AfterAll
+    public void cleanDB(){
+        EnrollmentIndexSeed.delete(databaseClient);
+    }
+
+    @Test
+    void findEnrollmentByEnrollmentId_shouldUseIndex(){
+        assertUsesIndex("SELECT * FROM enrollments WHERE enrollmentId = '" + EnrollmentIndexSeed.enrollmentId(ROWS / 2) + "'");
+    }
+
+    @Test
+    void findAllEnrollmentByStudentId_shouldUseIndex(){
+        assertUsesIndex("SELECT * FROM enrollments WHERE studentId = '" + EnrollmentIndexSeed.studentId(ROWS / 40) + "'");
+    }
+
+    @Test
+    void findAllEnrollmentByCourseId_shouldUseIndex(){
+        assertUsesIndex("SELECT * FROM enrollments WHERE courseId = '" + EnrollmentIndexSeed.courseId(1000) + "'");
+    }
+
+    @Test
+    void findAllEnrollmentByEnrollmentYear_shouldUseIndex(){
+        assertUsesIndex("SELECT * FROM enrollments WHERE enrollmentYear = 1500");
+    }
+
+    private void assertUsesIndex(String query){
+        StepVerifier
+                .create(databaseClient.sql("EXPLAIN " + query).map(row -> row.get(0, String.class)).one())
+                .assertNext(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"))
+                .verifyComplete();
+    }
+}
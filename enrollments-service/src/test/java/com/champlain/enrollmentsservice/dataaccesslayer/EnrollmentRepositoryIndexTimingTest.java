@@ -0,0 +1,84 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ./gradlew benchmarkTest -- indexed lookups against a full table scan on a million rows; wall-clock assertions,
+// so it stays out of ./gradlew test
+@Tag("benchmark")
+@DataR2dbcTest
+@Import(R2dbcConversionsConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EnrollmentRepositoryIndexTimingTest {
+
+    private static final int ROWS = Integer.getInteger("enrollments.index-benchmark.rows", 1_000_000);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Duration fullScan;
+
+    @BeforeAll
+    public void seedDB(){
+        EnrollmentIndexSeed.insert(databaseClient, ROWS);
+
+        // studentFirstName is not indexed, so this query has to read the whole table
+        Publisher<Long> scan = databaseClient.sql("SELECT COUNT(*) FROM enrollments WHERE studentFirstName = 'nobody'")
+                .map(row -> row.get(0, Long.class))
+                .one();
+        time(scan);
+        fullScan = time(scan);
+    }
+
+    @AfterAll
+    public void cleanDB(){
+        EnrollmentIndexSeed.delete(databaseClient);
+    }
+
+    @Test
+    void findEnrollmentByEnrollmentId_shouldBeWellBelowFullScan(){
+        assertWellBelowFullScan(enrollmentRepository.findEnrollmentByEnrollmentId(EnrollmentIndexSeed.enrollmentId(ROWS / 2)));
+    }
+
+    @Test
+    void findAllEnrollmentByStudentId_shouldBeWellBelowFullScan(){
+        assertWellBelowFullScan(enrollmentRepository.findAllEnrollmentByStudentId(EnrollmentIndexSeed.studentId(ROWS / 40)).collectList());
+    }
+
+    @Test
+    void findAllEnrollmentByCourseId_shouldBeWellBelowFullScan(){
+        assertWellBelowFullScan(enrollmentRepository.findAllEnrollmentByCourseId(EnrollmentIndexSeed.courseId(1000)).collectList());
+    }
+
+    @Test
+    void findAllEnrollmentByEnrollmentYear_shouldBeWellBelowFullScan(){
+        assertWellBelowFullScan(enrollmentRepository.findAllEnrollmentByEnrollmentYear(1500).collectList());
+    }
+
+    private void assertWellBelowFullScan(Mono<?> lookup){
+        time(lookup);
+        assertThat(time(lookup)).isLessThan(fullScan.dividedBy(3));
+    }
+
+    private Duration time(Publisher<?> query){
+        long start = System.nanoTime();
+        Mono.from(query).block();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
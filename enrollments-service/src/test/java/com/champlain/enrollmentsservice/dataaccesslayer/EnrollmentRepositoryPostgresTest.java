@@ -0,0 +1,145 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.FALL;
+import static org.junit.jupiter.api.Assertions.*;
+
+// ./gradlew postgresTest -- runs against the PostgreSQL of docker-compose, or the database given by
+// -Denrollments.postgres.url=r2dbc:postgresql://host:port/db (-Denrollments.postgres.username/password)
+@Tag("postgres")
+@DataR2dbcTest
+@Import(R2dbcConversionsConfig.class)
+class EnrollmentRepositoryPostgresTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> System.getProperty("enrollments.postgres.url", "r2dbc:postgresql://localhost:5432/enrollments"));
+        registry.add("spring.r2dbc.username", () -> System.getProperty("enrollments.postgres.username", "user"));
+        registry.add("spring.r2dbc.password", () -> System.getProperty("enrollments.postgres.password", "pwd"));
+    }
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    private TransactionalOperator transactionalOperator;
+
+    private final UUID studentId = UUID.fromString("c3540a89-cb47-4c96-888e-ff96708db4d8");
+    private final UUID courseId = UUID.fromString("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223");
+
+    @BeforeEach
+    public void setupDB(){
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+
+        StepVerifier
+                .create(enrollmentRepository.deleteAll())
+                .verifyComplete();
+    }
+
+    private Enrollment enrollment(int enrollmentYear) {
+        return Enrollment.builder()
+                .enrollmentId(UUID.randomUUID())
+                .enrollmentYear(enrollmentYear)
+                .semester(FALL)
+                .studentId(studentId)
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId(courseId)
+                .courseNumber("420-N45-LA")
+                .courseName("Web Services")
+                .validatedAt(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_000))
+                .build();
+    }
+
+    @Test
+    void importEnrollments_shouldCopyEveryFieldAsIs(){
+        //arrange
+        Enrollment awkward = enrollment(2030).toBuilder()
+                .studentFirstName("")
+                .studentLastName("O\"Neil, Jr.\nII")
+                .courseNumber(null)
+                .courseName("Ünïcødé \\N")
+                .build();
+        Enrollment noTimestamp = enrollment(2031).toBuilder()
+                .validatedAt(null)
+                .build();
+
+        //act
+        StepVerifier
+                .create(enrollmentRepository.importEnrollments(List.of(awkward, noTimestamp)).as(transactionalOperator::transactional))
+                .expectNext(2L)
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(enrollmentRepository.findEnrollmentByEnrollmentId(awkward.getEnrollmentId()))
+                .consumeNextWith(stored -> {
+                    assertEquals("", stored.getStudentFirstName());
+                    assertEquals(awkward.getStudentLastName(), stored.getStudentLastName());
+                    assertNull(stored.getCourseNumber());
+                    assertEquals(awkward.getCourseName(), stored.getCourseName());
+                    assertEquals(FALL, stored.getSemester());
+                    assertEquals(awkward.getValidatedAt(), stored.getValidatedAt());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.findEnrollmentByEnrollmentId(noTimestamp.getEnrollmentId()))
+                .consumeNextWith(stored -> assertNull(stored.getValidatedAt()))
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollments_rowsClashingWithStoredOnes_shouldBeSkipped(){
+        //arrange
+        StepVerifier
+                .create(enrollmentRepository.save(enrollment(2030)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        List<Enrollment> enrollments = List.of(enrollment(2030), enrollment(2031), enrollment(2032));
+
+        //act
+        StepVerifier
+                .create(enrollmentRepository.importEnrollments(enrollments).as(transactionalOperator::transactional))
+                .expectNext(2L)
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.findEnrollmentByEnrollmentId(enrollments.get(0).getEnrollmentId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollments_outsideTransaction_shouldFail(){
+        //act and assert
+        StepVerifier
+                .create(enrollmentRepository.importEnrollments(List.of(enrollment(2030))))
+                .expectError()
+                .verify();
+    }
+}
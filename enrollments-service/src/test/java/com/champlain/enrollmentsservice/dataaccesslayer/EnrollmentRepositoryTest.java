@@ -4,21 +4,36 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.SPRING;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataR2dbcTest
+@Import(R2dbcConversionsConfig.class)
 class EnrollmentRepositoryTest {
 
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private DatabaseClient databaseClient;
+
     @BeforeEach
     public void setupDB(){
         StepVerifier
@@ -31,13 +46,13 @@ class EnrollmentRepositoryTest {
     void findEnrollmentByEnrollmentId_validId_shouldSucceed(){
         //arrange
         Enrollment enrollment = Enrollment.builder()
-                .enrollmentId("123")
+                .enrollmentId(uuid("123"))
                 .enrollmentYear(2023)
                 .semester(SPRING)
-                .studentId("123")
+                .studentId(uuid("123"))
                 .studentFirstName("John")
                 .studentLastName("Doe")
-                .courseId("123")
+                .courseId(uuid("123"))
                 .courseName("CourseName")
                 .courseNumber("420-NA")
                 .build();
@@ -68,28 +83,28 @@ class EnrollmentRepositoryTest {
     @Test
     void findAllEnrollmentsByStudentId_validId_shouldSucceed() {
         // Arrange
-        String studentId = "123";
+        UUID studentId = uuid("123");
 
         Enrollment enrollment1 = Enrollment.builder()
-                .enrollmentId("enrollment_id_1")
+                .enrollmentId(uuid("enrollment_id_1"))
                 .enrollmentYear(2023)
                 .semester(SPRING)
                 .studentId(studentId)
                 .studentFirstName("John")
                 .studentLastName("Doe")
-                .courseId("course_id_1")
+                .courseId(uuid("course_id_1"))
                 .courseName("CourseName")
                 .courseNumber("420-NA")
                 .build();
 
         Enrollment enrollment2 = Enrollment.builder()
-                .enrollmentId("enrollment_id_2")
+                .enrollmentId(uuid("enrollment_id_2"))
                 .enrollmentYear(2023)
                 .semester(SPRING)
                 .studentId(studentId)
                 .studentFirstName("Jane")
                 .studentLastName("Smith")
-                .courseId("course_id_2")
+                .courseId(uuid("course_id_2"))
                 .courseName("AnotherCourse")
                 .courseNumber("421-NB")
                 .build();
@@ -110,13 +125,13 @@ class EnrollmentRepositoryTest {
     @Test
     void findAllEnrollmentByCourseId_validId_shouldSucceed() {
         // Arrange
-        String courseId = "course_id_1";
+        UUID courseId = uuid("course_id_1");
 
         Enrollment enrollment1 = Enrollment.builder()
-                .enrollmentId("enrollment_id_1")
+                .enrollmentId(uuid("enrollment_id_1"))
                 .enrollmentYear(2023)
                 .semester(SPRING)
-                .studentId("student_id_1")
+                .studentId(uuid("student_id_1"))
                 .studentFirstName("John")
                 .studentLastName("Doe")
                 .courseId(courseId)
@@ -125,13 +140,13 @@ class EnrollmentRepositoryTest {
                 .build();
 
         Enrollment enrollment2 = Enrollment.builder()
-                .enrollmentId("enrollment_id_2")
+                .enrollmentId(uuid("enrollment_id_2"))
                 .enrollmentYear(2023)
                 .semester(SPRING)
-                .studentId("student_id_2")
+                .studentId(uuid("student_id_2"))
                 .studentFirstName("Jane")
                 .studentLastName("Smith")
-                .courseId("course_id_2")
+                .courseId(uuid("course_id_2"))
                 .courseName("AnotherCourse")
                 .courseNumber("421-NB")
                 .build();
@@ -155,25 +170,25 @@ class EnrollmentRepositoryTest {
         Integer enrollmentYear = 2023;
 
         Enrollment enrollment1 = Enrollment.builder()
-                .enrollmentId("enrollment_id_1")
+                .enrollmentId(uuid("enrollment_id_1"))
                 .enrollmentYear(enrollmentYear)
                 .semester(SPRING)
-                .studentId("student_id_1")
+                .studentId(uuid("student_id_1"))
                 .studentFirstName("John")
                 .studentLastName("Doe")
-                .courseId("course_id_1")
+                .courseId(uuid("course_id_1"))
                 .courseName("CourseName")
                 .courseNumber("420-NA")
                 .build();
 
         Enrollment enrollment2 = Enrollment.builder()
-                .enrollmentId("enrollment_id_2")
+                .enrollmentId(uuid("enrollment_id_2"))
                 .enrollmentYear(enrollmentYear)
                 .semester(SPRING)
-                .studentId("student_id_2")
+                .studentId(uuid("student_id_2"))
                 .studentFirstName("Jane")
                 .studentLastName("Smith")
-                .courseId("course_id_2")
+                .courseId(uuid("course_id_2"))
                 .courseName("AnotherCourse")
                 .courseNumber("421-NB")
                 .build();
@@ -191,4 +206,255 @@ class EnrollmentRepositoryTest {
                 .verifyComplete();
     }
 
-}
\ No newline at end of file
+    @Test
+    void findAllEnrollmentMatching_combinedCriteria_shouldOnlyReturnMatchingRows() {
+        // Arrange
+        Enrollment fall2023 = Enrollment.builder()
+                .enrollmentId(uuid("enrollment_id_1"))
+                .enrollmentYear(2023)
+                .semester(Semester.FALL)
+                .studentId(uuid("123"))
+                .studentFirstName("John")
+                .studentLastName("Doe")
+                .courseId(uuid("course_id_1"))
+                .courseName("CourseName")
+                .courseNumber("420-NA")
+                .build();
+
+        Enrollment spring2023 = Enrollment.builder()
+                .enrollmentId(uuid("enrollment_id_2"))
+                .enrollmentYear(2023)
+                .semester(SPRING)
+                .studentId(uuid("123"))
+                .studentFirstName("John")
+                .studentLastName("Doe")
+                .courseId(uuid("course_id_2"))
+                .courseName("AnotherCourse")
+                .courseNumber("421-NB")
+                .build();
+
+        Enrollment fall2024 = Enrollment.builder()
+                .enrollmentId(uuid("enrollment_id_3"))
+                .enrollmentYear(2024)
+                .semester(Semester.FALL)
+                .studentId(uuid("123"))
+                .studentFirstName("John")
+                .studentLastName("Doe")
+                .courseId(uuid("course_id_3"))
+                .courseName("ThirdCourse")
+                .courseNumber("422-NC")
+                .build();
+
+        Enrollment otherStudent = Enrollment.builder()
+                .enrollmentId(uuid("enrollment_id_4"))
+                .enrollmentYear(2023)
+                .semester(Semester.FALL)
+                .studentId(uuid("456"))
+                .studentFirstName("Jane")
+                .studentLastName("Smith")
+                .courseId(uuid("course_id_1"))
+                .courseName("CourseName")
+                .courseNumber("420-NA")
+                .build();
+
+        Flux<Enrollment> saveAll = enrollmentRepository.saveAll(Arrays.asList(fall2023, spring2023, fall2024, otherStudent));
+
+        StepVerifier.create(saveAll).expectNextCount(4).verifyComplete();
+
+        // Act
+        EnrollmentQuery studentInYear = EnrollmentQuery.builder()
+                .studentId(uuid("123"))
+                .enrollmentYear(2023)
+                .sort(Sort.by(Sort.Direction.DESC, "courseNumber"))
+                .build();
+
+        EnrollmentQuery studentInSemester = EnrollmentQuery.builder()
+                .studentId(uuid("123"))
+                .semester(Semester.FALL)
+                .limit(1)
+                .build();
+
+        // Assert
+        StepVerifier.create(enrollmentRepository.findAllEnrollmentMatching(studentInYear))
+                .assertNext(enrollment -> assertEquals(uuid("enrollment_id_2"), enrollment.getEnrollmentId()))
+                .assertNext(enrollment -> assertEquals(uuid("enrollment_id_1"), enrollment.getEnrollmentId()))
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findAllEnrollmentMatching(studentInSemester))
+                .assertNext(enrollment -> assertEquals(uuid("enrollment_id_1"), enrollment.getEnrollmentId()))
+                .verifyComplete();
+    }
+
+    private Enrollment saveValidatedEnrollment(LocalDateTime validatedAt) {
+        Enrollment enrollment = Enrollment.builder()
+                .enrollmentId(uuid("enrollment_id_1"))
+                .enrollmentYear(2023)
+                .semester(SPRING)
+                .studentId(uuid("123"))
+                .studentFirstName("John")
+                .studentLastName("Doe")
+                .courseId(uuid("course_id_1"))
+                .courseName("CourseName")
+                .courseNumber("420-NA")
+                .validatedAt(validatedAt)
+                .build();
+
+        return enrollmentRepository.save(enrollment).block();
+    }
+
+    @Test
+    void updateEnrollmentTerm_freshAndSameReferences_shouldUpdateInOneStatement() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Enrollment saved = saveValidatedEnrollment(now.minusMinutes(5));
+
+        // Act
+        Mono<Enrollment> updated = enrollmentRepository.updateEnrollmentTerm(saved.getEnrollmentId(),
+                uuid("123"), uuid("course_id_1"), 2024, Semester.FALL, now.minusHours(1));
+
+        // Assert
+        StepVerifier.create(updated)
+                .consumeNextWith(enrollment -> {
+                    assertEquals(saved.getId(), enrollment.getId());
+                    assertEquals(2024, enrollment.getEnrollmentYear());
+                    assertEquals(Semester.FALL, enrollment.getSemester());
+                    assertEquals("John", enrollment.getStudentFirstName());
+                    assertEquals(saved.getVersion() + 1, enrollment.getVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void updateEnrollmentTerm_staleCopyOrOtherReference_shouldNotUpdate() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Enrollment saved = saveValidatedEnrollment(now.minusHours(2));
+
+        // Act and Assert
+        StepVerifier.create(enrollmentRepository.updateEnrollmentTerm(saved.getEnrollmentId(),
+                        uuid("123"), uuid("course_id_1"), 2024, Semester.FALL, now.minusHours(1)))
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.updateEnrollmentTerm(saved.getEnrollmentId(),
+                        uuid("123"), uuid("course_id_2"), 2024, Semester.FALL, now.minusDays(1)))
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findEnrollmentByEnrollmentId(saved.getEnrollmentId()))
+                .consumeNextWith(enrollment -> assertEquals(2023, enrollment.getEnrollmentYear()))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_staleVersion_shouldFailWithOptimisticLockingFailure() {
+        // Arrange
+        Enrollment saved = saveValidatedEnrollment(LocalDateTime.now(ZoneOffset.UTC));
+        Enrollment firstCopy = saved.toBuilder().enrollmentYear(2024).build();
+        Enrollment secondCopy = saved.toBuilder().enrollmentYear(2025).build();
+
+        StepVerifier.create(enrollmentRepository.save(firstCopy)).expectNextCount(1).verifyComplete();
+
+        // Act and Assert
+        StepVerifier.create(enrollmentRepository.save(secondCopy))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteEnrollmentByEnrollmentId_shouldReturnDeletedRowCount() {
+        // Arrange
+        Enrollment saved = saveValidatedEnrollment(LocalDateTime.now(ZoneOffset.UTC));
+
+        // Act and Assert
+        StepVerifier.create(enrollmentRepository.deleteEnrollmentByEnrollmentId(saved.getEnrollmentId()))
+                .expectNext(1)
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.deleteEnrollmentByEnrollmentId(saved.getEnrollmentId()))
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_shouldStoreSemesterAsCodeAndIdsAsUuid() {
+        // Arrange
+        Enrollment saved = saveValidatedEnrollment(LocalDateTime.now(ZoneOffset.UTC));
+
+        // Act
+        Mono<Map<String, Object>> row = databaseClient
+                .sql("SELECT semester, enrollmentId FROM enrollments WHERE id = :id")
+                .bind("id", saved.getId())
+                .fetch()
+                .one();
+
+        // Assert
+        StepVerifier.create(row)
+                .consumeNextWith(columns -> {
+                    assertEquals(SPRING.getCode(), ((Number) columns.get("semester")).shortValue());
+                    assertEquals(saved.getEnrollmentId(), columns.get("enrollmentId"));
+                })
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findById(saved.getId()))
+                .consumeNextWith(enrollment -> assertEquals(SPRING, enrollment.getSemester()))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertEnrollments_shouldWriteAllRowsInOneStatement() {
+        // Arrange
+        List<Enrollment> enrollments = List.of(newEnrollment("bulk-1", 2023), newEnrollment("bulk-2", 2024),
+                newEnrollment("bulk-3", 2025));
+
+        // Act and Assert
+        StepVerifier.create(enrollmentRepository.insertEnrollments(enrollments))
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findEnrollmentByEnrollmentId(uuid("bulk-2")))
+                .consumeNextWith(enrollment -> {
+                    assertEquals(2024, enrollment.getEnrollmentYear());
+                    assertEquals(SPRING, enrollment.getSemester());
+                    assertEquals("John", enrollment.getStudentFirstName());
+                    assertEquals(0L, enrollment.getVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void insertEnrollments_oneDuplicateTerm_shouldInsertNothing() {
+        // Arrange
+        StepVerifier.create(enrollmentRepository.insertEnrollments(List.of(newEnrollment("bulk-1", 2023))))
+                .expectNext(1L)
+                .verifyComplete();
+
+        List<Enrollment> enrollments = List.of(newEnrollment("bulk-2", 2024), newEnrollment("bulk-3", 2023));
+
+        // Act and Assert
+        StepVerifier.create(enrollmentRepository.insertEnrollments(enrollments))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+
+        StepVerifier.create(enrollmentRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    private Enrollment newEnrollment(String enrollmentId, Integer enrollmentYear) {
+        return Enrollment.builder()
+                .enrollmentId(uuid(enrollmentId))
+                .enrollmentYear(enrollmentYear)
+                .semester(SPRING)
+                .studentId(uuid("123"))
+                .studentFirstName("John")
+                .studentLastName("Doe")
+                .courseId(uuid("123"))
+                .courseName("CourseName")
+                .courseNumber("420-NA")
+                .validatedAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+
+    private static UUID uuid(String name) {
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
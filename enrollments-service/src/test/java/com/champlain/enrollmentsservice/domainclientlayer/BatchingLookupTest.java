@@ -0,0 +1,81 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingLookupTest {
+
+    private final List<Set<String>> bulkRequests = new CopyOnWriteArrayList<>();
+
+    private BatchingLookup<StudentResponseDTO> buildLookup(int maxBatchSize, Duration window) {
+        return new BatchingLookup<>(
+                ids -> {
+                    bulkRequests.add(Set.copyOf(ids));
+                    return Flux.fromIterable(ids)
+                            .filter(id -> !id.startsWith("missing"))
+                            .map(id -> StudentResponseDTO.builder().studentId(id).firstName("first-" + id).build());
+                },
+                StudentResponseDTO::getStudentId,
+                id -> new NotFoundException("StudentId not found: " + id),
+                maxBatchSize,
+                window);
+    }
+
+    @Test
+    void load_lookupsWithinWindow_shouldBeSentAsOneBulkRequest() {
+        //arrange
+        BatchingLookup<StudentResponseDTO> lookup = buildLookup(100, Duration.ofMillis(50));
+
+        //act
+        Mono<List<StudentResponseDTO>> results = Flux.just("s1", "s2", "s3", "s1")
+                .flatMap(lookup::load)
+                .collectList();
+
+        //assert
+        StepVerifier.create(results)
+                .consumeNextWith(students -> {
+                    assertEquals(4, students.size());
+                    assertEquals(2, students.stream().filter(s -> s.getStudentId().equals("s1")).count());
+                })
+                .verifyComplete();
+
+        assertEquals(1, bulkRequests.size());
+        assertEquals(Set.of("s1", "s2", "s3"), bulkRequests.get(0));
+    }
+
+    @Test
+    void load_whenBatchIsFull_shouldNotWaitForWindow() {
+        //arrange
+        BatchingLookup<StudentResponseDTO> lookup = buildLookup(2, Duration.ofSeconds(30));
+
+        //act and assert
+        StepVerifier.create(Flux.just("s1", "s2").flatMap(lookup::load))
+                .expectNextCount(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, bulkRequests.size());
+    }
+
+    @Test
+    void load_idMissingFromBulkResponse_shouldFailWithNotFound() {
+        //arrange
+        BatchingLookup<StudentResponseDTO> lookup = buildLookup(100, Duration.ofMillis(10));
+
+        //act and assert
+        StepVerifier.create(lookup.load("missing-1"))
+                .expectErrorMatches(error -> error instanceof NotFoundException
+                        && error.getMessage().equals("StudentId not found: missing-1"))
+                .verify();
+    }
+}
@@ -0,0 +1,109 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.DownstreamClientException;
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamGuardTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private DownstreamGuard buildGuard() {
+        DownstreamServiceProperties properties = new DownstreamServiceProperties();
+        properties.getCircuitBreaker().setEnabled(true);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        properties.getBulkhead().setEnabled(true);
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        return new DownstreamGuard("courses-service", properties, new SimpleMeterRegistry());
+    }
+
+    private <T> Mono<T> counted(Mono<T> call) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return call;
+        });
+    }
+
+    @Test
+    void protect_failingDownstream_shouldOpenCircuitAndFailFast() {
+        //arrange
+        DownstreamGuard guard = buildGuard();
+        Mono<Object> failing = counted(Mono.error(new IllegalArgumentException("Something went wrong")));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(guard.protect(failing)).expectError(IllegalArgumentException.class).verify();
+        }
+
+        //act and assert
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+        StepVerifier.create(guard.protect(failing))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ServiceUnavailableException.class, error);
+                    assertEquals("The courses-service is unavailable, its circuit breaker is open", error.getMessage());
+                })
+                .verify();
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void protect_notFound_shouldNotOpenCircuit() {
+        //arrange
+        DownstreamGuard guard = buildGuard();
+        Mono<Object> notFound = counted(Mono.error(new NotFoundException("CourseId not found: c1")));
+
+        //act
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(guard.protect(notFound)).expectError(NotFoundException.class).verify();
+        }
+
+        //assert
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    void protect_rejectedRequests_shouldNotOpenCircuit() {
+        //arrange
+        DownstreamGuard guard = buildGuard();
+        Mono<Object> rejected = counted(Mono.error(new DownstreamClientException("The courses-service rejected the request with 422 UNPROCESSABLE_ENTITY")));
+
+        //act
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(guard.protect(rejected)).expectError(DownstreamClientException.class).verify();
+        }
+
+        //assert
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    void protect_bulkheadFull_shouldRejectImmediately() {
+        //arrange
+        DownstreamGuard guard = buildGuard();
+        Sinks.One<String> inFlight = Sinks.one();
+
+        //act and assert
+        StepVerifier.create(guard.protect(counted(inFlight.asMono())))
+                .then(() -> StepVerifier.create(guard.protect(counted(Mono.just("second"))))
+                        .expectError(ServiceUnavailableException.class)
+                        .verify())
+                .then(() -> inFlight.tryEmitValue("first"))
+                .expectNext("first")
+                .verifyComplete();
+        assertEquals(1, calls.get());
+    }
+}
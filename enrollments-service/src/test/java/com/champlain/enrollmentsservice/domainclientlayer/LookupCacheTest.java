@@ -0,0 +1,111 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DownstreamServiceProperties.Cache cacheProperties(Duration negativeTtl) {
+        DownstreamServiceProperties.Cache properties = new DownstreamServiceProperties.Cache();
+        properties.setEnabled(true);
+        properties.setMaxSize(100);
+        properties.setTtl(Duration.ofMinutes(5));
+        properties.setNegativeTtl(negativeTtl);
+        return properties;
+    }
+
+    private LookupCache<CourseResponseDTO> buildCache(Duration negativeTtl) {
+        return new LookupCache<>(
+                courseId -> {
+                    loads.incrementAndGet();
+                    if (courseId.startsWith("missing"))
+                        return Mono.error(new NotFoundException("CourseId not found: " + courseId));
+                    return Mono.just(CourseResponseDTO.builder().courseId(courseId).courseName("Web Services").build());
+                },
+                courseId -> new NotFoundException("CourseId not found: " + courseId),
+                cacheProperties(negativeTtl),
+                nanoTime::get);
+    }
+
+    @Test
+    void get_concurrentMisses_shouldShareOneLoad() {
+        //arrange
+        Sinks.One<CourseResponseDTO> upstream = Sinks.one();
+        LookupCache<CourseResponseDTO> cache = new LookupCache<>(
+                courseId -> {
+                    loads.incrementAndGet();
+                    return upstream.asMono();
+                },
+                courseId -> new NotFoundException("CourseId not found: " + courseId),
+                cacheProperties(Duration.ZERO),
+                nanoTime::get);
+
+        //act
+        Flux<CourseResponseDTO> results = Flux.merge(cache.get("c1"), cache.get("c1"), cache.get("c1"));
+
+        //assert: all three callers are waiting before the upstream answers
+        StepVerifier.create(results)
+                .then(() -> upstream.tryEmitValue(CourseResponseDTO.builder().courseId("c1").build()))
+                .expectNextCount(3)
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_afterTtl_shouldReload() {
+        //arrange
+        LookupCache<CourseResponseDTO> cache = buildCache(Duration.ZERO);
+
+        //act
+        StepVerifier.create(cache.get("c1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.get("c1")).expectNextCount(1).verifyComplete();
+        nanoTime.addAndGet(Duration.ofMinutes(6).toNanos());
+        StepVerifier.create(cache.get("c1")).expectNextCount(1).verifyComplete();
+
+        //assert
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void get_notFoundWithNegativeCaching_shouldNotReloadUntilNegativeTtl() {
+        //arrange
+        LookupCache<CourseResponseDTO> cache = buildCache(Duration.ofSeconds(30));
+
+        //act and assert
+        StepVerifier.create(cache.get("missing-1")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(cache.get("missing-1")).expectError(NotFoundException.class).verify();
+        assertEquals(1, loads.get());
+
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+        StepVerifier.create(cache.get("missing-1")).expectError(NotFoundException.class).verify();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_notFoundWithoutNegativeCaching_shouldReloadEveryTime() {
+        //arrange
+        LookupCache<CourseResponseDTO> cache = buildCache(Duration.ZERO);
+
+        //act
+        StepVerifier.create(cache.get("missing-1")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(cache.get("missing-1")).expectError(NotFoundException.class).verify();
+
+        //assert
+        assertEquals(2, loads.get());
+    }
+}
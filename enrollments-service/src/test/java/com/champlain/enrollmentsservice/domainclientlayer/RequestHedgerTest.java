@@ -0,0 +1,165 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private RequestHedger buildHedger(double maxBudget) {
+        DownstreamServiceProperties.Hedging properties = new DownstreamServiceProperties.Hedging();
+        properties.setEnabled(true);
+        properties.setInitialDelay(Duration.ofMillis(50));
+        properties.setBudgetRatio(0);
+        properties.setMaxBudget(maxBudget);
+        return new RequestHedger("courses-service", properties, meterRegistry, scheduler);
+    }
+
+    // the first call is slow, every following call answers after 5ms
+    private Supplier<Mono<String>> slowFirstCall() {
+        return () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(1), scheduler).thenReturn("first")
+                : Mono.delay(Duration.ofMillis(5), scheduler).thenReturn("hedge");
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void hedge_slowFirstRequest_shouldUseHedgedReply() {
+        //arrange
+        RequestHedger hedger = buildHedger(10);
+
+        //act and assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(slowFirstCall()), () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofMillis(55))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, counter("downstream.hedges.sent"));
+        assertEquals(1, counter("downstream.hedges.won"));
+    }
+
+    @Test
+    void hedge_fastFirstRequest_shouldNotSendHedge() {
+        //arrange
+        RequestHedger hedger = buildHedger(10);
+        Supplier<Mono<String>> fastCall = () -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(20), scheduler).thenReturn("first");
+        };
+
+        //act and assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(fastCall), () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofMillis(20))
+                .expectNext("first")
+                .verifyComplete();
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertEquals(1, calls.get());
+        assertEquals(0, counter("downstream.hedges.sent"));
+    }
+
+    @Test
+    void hedge_budgetSpent_shouldWaitForFirstRequest() {
+        //arrange
+        RequestHedger hedger = buildHedger(0);
+
+        //act and assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(slowFirstCall()), () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofMillis(500))
+                .expectNoEvent(Duration.ofMillis(400))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("first")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(0, counter("downstream.hedges.sent"));
+    }
+
+    @Test
+    void hedge_firstRequestFails_shouldPropagateErrorWithoutHedging() {
+        //arrange
+        RequestHedger hedger = buildHedger(10);
+        Supplier<Mono<String>> notFound = () -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("not found"));
+        };
+
+        //act and assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(notFound), () -> scheduler, Long.MAX_VALUE)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void hedge_hedgeFailsFast_shouldWaitForFirstRequest() {
+        //arrange
+        RequestHedger hedger = buildHedger(10);
+        Supplier<Mono<String>> failingHedge = () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(200), scheduler).thenReturn("first")
+                : Mono.error(new IllegalStateException("503 from the second instance"));
+
+        //act and assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(failingHedge), () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofMillis(50))
+                .expectNoEvent(Duration.ofMillis(149))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("first")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, counter("downstream.hedges.sent"));
+        assertEquals(0, counter("downstream.hedges.won"));
+    }
+
+    @Test
+    void requestHedger_percentileOutOfRange_shouldBeRejected() {
+        //arrange
+        DownstreamServiceProperties.Hedging zero = new DownstreamServiceProperties.Hedging();
+        zero.setPercentile(0);
+        DownstreamServiceProperties.Hedging aboveOne = new DownstreamServiceProperties.Hedging();
+        aboveOne.setPercentile(1.5);
+
+        //act and assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new RequestHedger("courses-service", zero, meterRegistry, scheduler));
+        assertEquals("app.courses-service.hedging.percentile needs to be greater than 0 and at most 1: 0.0", error.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> new RequestHedger("courses-service", aboveOne, meterRegistry, scheduler));
+    }
+
+    @Test
+    void hedge_fullPercentile_shouldUseSlowestSample() {
+        //arrange
+        DownstreamServiceProperties.Hedging properties = new DownstreamServiceProperties.Hedging();
+        properties.setEnabled(true);
+        properties.setPercentile(1);
+        properties.setMinSamples(1);
+        properties.setRecomputeEvery(1);
+        properties.setMinDelay(Duration.ZERO);
+        RequestHedger hedger = new RequestHedger("courses-service", properties, meterRegistry, scheduler);
+
+        //act and assert: recomputing the delay over a single sample must not read past the window
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> Mono.just("first")), () -> scheduler, Long.MAX_VALUE)
+                .expectNext("first")
+                .verifyComplete();
+    }
+}
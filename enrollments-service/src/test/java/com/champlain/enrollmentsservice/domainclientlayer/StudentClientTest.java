@@ -1,7 +1,90 @@
 package com.champlain.enrollmentsservice.domainclientlayer;
 
+import com.champlain.enrollmentsservice.utils.exceptions.DownstreamClientException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class StudentClientTest {
 
-}
\ No newline at end of file
+    private final AtomicInteger requests = new AtomicInteger();
+    private DisposableServer studentsService;
+
+    @AfterEach
+    void stopStudentsService() {
+        studentsService.disposeNow();
+    }
+
+    // a students-service that answers every request with the given status
+    private StudentClient clientOfStudentsServiceAnswering(HttpResponseStatus status) {
+        studentsService = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    return response.status(status).send();
+                })
+                .bindNow();
+
+        DownstreamServiceProperties properties = new DownstreamServiceProperties();
+        properties.setHost("localhost");
+        properties.setPort(String.valueOf(studentsService.port()));
+        properties.getCircuitBreaker().setEnabled(true);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        return new StudentClient(properties, WebClient.builder(), new SimpleMeterRegistry(), HttpClient.create());
+    }
+
+    @Test
+    void getStudentByStudentId_rejectedRepeatedly_shouldKeepCallingStudentsService() {
+        //arrange
+        StudentClient studentClient = clientOfStudentsServiceAnswering(HttpResponseStatus.UNPROCESSABLE_ENTITY);
+
+        //act and assert: the breaker ignores the caller's mistakes, so every request still reaches the service
+        for (int i = 0; i < 6; i++) {
+            StepVerifier
+                    .create(studentClient.getStudentByStudentId("not-a-uuid"))
+                    .expectErrorSatisfies(error -> {
+                        assertInstanceOf(DownstreamClientException.class, error);
+                        assertEquals("The students-service rejected the request with 422 UNPROCESSABLE_ENTITY", error.getMessage());
+                    })
+                    .verify();
+        }
+        assertEquals(6, requests.get());
+    }
+
+    @Test
+    void getStudentByStudentId_serverErrors_shouldBeUnavailableAndOpenCircuit() {
+        //arrange
+        StudentClient studentClient = clientOfStudentsServiceAnswering(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+        String studentId = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier
+                    .create(studentClient.getStudentByStudentId(studentId))
+                    .expectErrorSatisfies(error -> {
+                        assertInstanceOf(ServiceUnavailableException.class, error);
+                        assertEquals("The students-service failed the request with 500 INTERNAL_SERVER_ERROR", error.getMessage());
+                    })
+                    .verify();
+        }
+
+        //act and assert
+        StepVerifier
+                .create(studentClient.getStudentByStudentId(studentId))
+                .expectErrorMessage("The students-service is unavailable, its circuit breaker is open")
+                .verify();
+        assertEquals(4, requests.get());
+    }
+}
@@ -9,6 +9,8 @@ import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
 import com.champlain.enrollmentsservice.domainclientlayer.StudentClient;
 import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
 import com.champlain.enrollmentsservice.utils.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Publisher;
@@ -22,14 +24,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.FALL;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
@@ -52,17 +59,20 @@ class EnrollmentControllerIntegrationTest {
     @Autowired
     EnrollmentService enrollmentService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     private final Long DB_SIZE = 5L;
 
     StudentResponseDTO studentResponseDTO = StudentResponseDTO.builder()
             .firstName("Donna")
             .lastName("Hornsby")
-            .studentId("student123")
+            .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
             .program("History")
             .build();
 
     CourseResponseDTO courseResponseDTO = CourseResponseDTO.builder()
-            .courseId("course123")
+            .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
             .courseName("Web Services")
             .courseNumber("420-N45-LA")
             .department("Computer Science")
@@ -71,7 +81,7 @@ class EnrollmentControllerIntegrationTest {
             .build();
 
     EnrollmentRequestDTO enrollmentRequestDTO = EnrollmentRequestDTO.builder()
-            .enrollmentYear(2023)
+            .enrollmentYear(2027)
             .semester(FALL)
             .studentId(studentResponseDTO.getStudentId())
             .courseId(courseResponseDTO.getCourseId())
@@ -116,9 +126,29 @@ class EnrollmentControllerIntegrationTest {
                     assertEquals(DB_SIZE, list.size());});
     }
 
+    @Test
+    void getAllEnrollments_combinedFiltersSortedAndLimited(){
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/enrollments")
+                        .queryParam("studentId", "c3540a89-cb47-4c96-888e-ff96708db4d8")
+                        .queryParam("courseId", "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                        .queryParam("semester", "FALL")
+                        .queryParam("sort", "enrollmentYear,desc")
+                        .queryParam("limit", "2")
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .acceptCharset(StandardCharsets.UTF_8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EnrollmentResponseDTO.class)
+                .value(list -> assertEquals(List.of(2026, 2025),
+                        list.stream().map(EnrollmentResponseDTO::getEnrollmentYear).toList()));
+    }
+
     @Test
     void testGetAllEnrollmentsByStudentId() {
-        String studentId = "123";
+        String studentId = UUID.randomUUID().toString();
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/enrollments")
@@ -167,7 +197,7 @@ class EnrollmentControllerIntegrationTest {
 
     @Test
     void testGetAllEnrollmentsByCourseId() {
-        String courseId = "course123";
+        String courseId = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/enrollments")
@@ -189,6 +219,41 @@ class EnrollmentControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void getEnrollmentPage_shouldWalkAllRowsWithCursor(){
+        EnrollmentPageResponseDTO firstPage = getEnrollmentPage(null);
+        assertEquals(2, firstPage.getEnrollments().size());
+        assertNotNull(firstPage.getNext());
+
+        EnrollmentPageResponseDTO secondPage = getEnrollmentPage(firstPage.getNext());
+        assertEquals(2, secondPage.getEnrollments().size());
+        assertNotNull(secondPage.getNext());
+
+        EnrollmentPageResponseDTO lastPage = getEnrollmentPage(secondPage.getNext());
+        assertEquals(1, lastPage.getEnrollments().size());
+        assertNull(lastPage.getNext());
+
+        List<String> enrollmentIds = Stream.of(firstPage, secondPage, lastPage)
+                .flatMap(page -> page.getEnrollments().stream())
+                .map(EnrollmentResponseDTO::getEnrollmentId)
+                .toList();
+        assertEquals(List.of(uuid1, uuid2, uuid3, uuid4, uuid5), enrollmentIds);
+    }
+
+    @Test
+    void getEnrollmentPage_withInvalidToken_throwsInvalidInputException(){
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/enrollments/page")
+                        .queryParam("next", "not-a-token")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid page token: not-a-token");
+    }
+
     @Test
     public void getEnrollmentByEnrollmentId_withValidEnrollmentID(){
         webTestClient.get()
@@ -198,7 +263,7 @@ class EnrollmentControllerIntegrationTest {
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
                 .expectBody()
-                .jsonPath("$.enrollmentId").isEqualTo(enrollment1.getEnrollmentId());
+                .jsonPath("$.enrollmentId").isEqualTo(enrollment1.getEnrollmentId().toString());
     }
 
     @Test
@@ -264,6 +329,203 @@ class EnrollmentControllerIntegrationTest {
 
     }
 
+    @Test
+    void addEnrollment_shouldReportStageTimingsInServerTimingHeader() {
+        //arrange
+        when(studentClient.getStudentByStudentId(enrollmentRequestDTO.getStudentId()))
+                .thenReturn(Mono.just(studentResponseDTO));
+
+        when(courseClient.getCourseByCourseId(enrollmentRequestDTO.getCourseId()))
+                .thenReturn(Mono.just(courseResponseDTO));
+
+        //act and assert
+        webTestClient
+                .post()
+                .uri("/enrollments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(enrollmentRequestDTO)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Server-Timing", serverTiming -> assertThat(serverTiming)
+                        .contains("student-lookup;dur=")
+                        .contains("course-lookup;dur=")
+                        .contains("mapping;dur=")
+                        .contains("save;dur="));
+    }
+
+    @Test
+    void addEnrollment_courseServiceUnavailable_returnsServiceUnavailable() {
+        //arrange
+        when(studentClient.getStudentByStudentId(enrollmentRequestDTO.getStudentId()))
+                .thenReturn(Mono.just(studentResponseDTO));
+
+        when(courseClient.getCourseByCourseId(enrollmentRequestDTO.getCourseId()))
+                .thenReturn(Mono.error(new ServiceUnavailableException("The courses-service is unavailable, its circuit breaker is open")));
+
+        //act and assert
+        webTestClient
+                .post()
+                .uri("/enrollments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(enrollmentRequestDTO)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("The courses-service is unavailable, its circuit breaker is open");
+    }
+
+    @Test
+    void addEnrollment_duplicateTerm_throwsInvalidInputException() {
+        //arrange
+        EnrollmentRequestDTO duplicateRequestDTO = EnrollmentRequestDTO.builder()
+                .enrollmentYear(enrollment2.getEnrollmentYear())
+                .semester(enrollment2.getSemester())
+                .studentId(studentResponseDTO.getStudentId())
+                .courseId(courseResponseDTO.getCourseId())
+                .build();
+
+        when(studentClient.getStudentByStudentId(duplicateRequestDTO.getStudentId()))
+                .thenReturn(Mono.just(studentResponseDTO));
+
+        when(courseClient.getCourseByCourseId(duplicateRequestDTO.getCourseId()))
+                .thenReturn(Mono.just(courseResponseDTO));
+
+        //act and assert
+        webTestClient
+                .post()
+                .uri("/enrollments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(duplicateRequestDTO)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("The student " + studentResponseDTO.getStudentId()
+                        + " is already enrolled in the course " + courseResponseDTO.getCourseId() + " for FALL 2023");
+    }
+
+    @Test
+    void addEnrollment_studentAndCourseLookupsOverlap() {
+        //arrange: each lookup only answers once the other one has been sent, so sequential lookups would never
+        // complete and the request would end on the lookup timeout instead of creating the enrollment
+        Sinks.Empty<Void> studentLookupSent = Sinks.empty();
+        Sinks.Empty<Void> courseLookupSent = Sinks.empty();
+
+        when(studentClient.getStudentByStudentId(enrollmentRequestDTO.getStudentId()))
+                .thenReturn(courseLookupSent.asMono().then(Mono.just(studentResponseDTO))
+                        .doOnSubscribe(subscription -> studentLookupSent.tryEmitEmpty()));
+
+        when(courseClient.getCourseByCourseId(enrollmentRequestDTO.getCourseId()))
+                .thenReturn(studentLookupSent.asMono().then(Mono.just(courseResponseDTO))
+                        .doOnSubscribe(subscription -> courseLookupSent.tryEmitEmpty()));
+
+        //act and assert
+        webTestClient
+                .post()
+                .uri("/enrollments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(enrollmentRequestDTO)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    void addEnrollments_ndjsonStream_shouldReturnOneResultPerRowInOrder() {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        EnrollmentRequestDTO storedTerm = enrollmentRequestDTO.toBuilder().enrollmentYear(enrollment2.getEnrollmentYear()).build();
+        EnrollmentRequestDTO unknownCourse = enrollmentRequestDTO.toBuilder().courseId(UUID.randomUUID().toString()).build();
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = webTestClient
+                .post()
+                .uri("/enrollments/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(enrollmentRequestDTO, storedTerm, unknownCourse), EnrollmentRequestDTO.class)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkEnrollmentResultDTO.class)
+                .getResponseBody();
+
+        //assert
+        StepVerifier
+                .create(results)
+                .consumeNextWith(result -> {
+                    assertEquals(201, result.getStatus());
+                    assertNotNull(result.getEnrollmentId());
+                })
+                .consumeNextWith(result -> assertEquals(422, result.getStatus()))
+                .consumeNextWith(result -> {
+                    assertEquals(404, result.getStatus());
+                    assertEquals("CourseId not found: " + unknownCourse.getCourseId(), result.getMessage());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(DB_SIZE + 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void addEnrollments_malformedLine_shouldFailOnlyThatRow() throws Exception {
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+
+        EnrollmentRequestDTO nextYear = enrollmentRequestDTO.toBuilder().enrollmentYear(enrollmentRequestDTO.getEnrollmentYear() + 1).build();
+        String ndjson = objectMapper.writeValueAsString(enrollmentRequestDTO) + "\n"
+                + "{\"enrollmentYear\": \"not a year\"\n"
+                + objectMapper.writeValueAsString(nextYear) + "\n";
+
+        //act
+        Flux<BulkEnrollmentResultDTO> results = webTestClient
+                .post()
+                .uri("/enrollments/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(ndjson)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkEnrollmentResultDTO.class)
+                .getResponseBody();
+
+        //assert
+        StepVerifier
+                .create(results)
+                .consumeNextWith(result -> {
+                    assertEquals(0, result.getIndex());
+                    assertEquals(201, result.getStatus());
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(1, result.getIndex());
+                    assertEquals(400, result.getStatus());
+                    assertThat(result.getMessage()).startsWith("Malformed enrollment request");
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(2, result.getIndex());
+                    assertEquals(201, result.getStatus());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(DB_SIZE + 2)
+                .verifyComplete();
+    }
+
     @Test
     public void updateEnrollment_withValidId() {
 
@@ -355,13 +617,28 @@ class EnrollmentControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("The enrollment ID needs to be 36 characters: " + invalidIdTest);
     }
 
+    private EnrollmentPageResponseDTO getEnrollmentPage(String next){
+        return webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/enrollments/page")
+                        .queryParam("limit", 2)
+                        .queryParamIfPresent("next", Optional.ofNullable(next))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EnrollmentPageResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
     private Enrollment buildEnrollment(Integer enrollmentYear, String enrollmentId){
         return Enrollment.builder()
-                .enrollmentId(enrollmentId)
+                .enrollmentId(UUID.fromString(enrollmentId))
                 .enrollmentYear(enrollmentYear)
                 .semester(FALL)
-                .studentId(studentResponseDTO.getStudentId())
-                .courseId(courseResponseDTO.getCourseId())
+                .studentId(UUID.fromString(studentResponseDTO.getStudentId()))
+                .courseId(UUID.fromString(courseResponseDTO.getCourseId()))
                 .build();
     }
 }
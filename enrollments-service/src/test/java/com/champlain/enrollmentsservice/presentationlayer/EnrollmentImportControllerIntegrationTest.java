@@ -0,0 +1,282 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentImportChunk;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentImportChunkRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseClient;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentClient;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.utils.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static com.champlain.enrollmentsservice.dataaccesslayer.Semester.FALL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "app.enrollments.import.chunk-size=2")
+@AutoConfigureWebTestClient
+class EnrollmentImportControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private StudentClient studentClient;
+
+    @MockBean
+    private CourseClient courseClient;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EnrollmentImportChunkRepository enrollmentImportChunkRepository;
+
+    StudentResponseDTO studentResponseDTO = StudentResponseDTO.builder()
+            .firstName("Donna")
+            .lastName("Hornsby")
+            .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+            .program("History")
+            .build();
+
+    CourseResponseDTO courseResponseDTO = CourseResponseDTO.builder()
+            .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+            .courseName("Web Services")
+            .courseNumber("420-N45-LA")
+            .build();
+
+    String unknownCourseId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    public void dbSetUp(){
+        StepVerifier
+                .create(enrollmentImportChunkRepository.deleteAll().then(enrollmentRepository.deleteAll()))
+                .verifyComplete();
+
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO));
+
+        when(courseClient.getCoursesByCourseIds(anyCollection()))
+                .thenReturn(Flux.just(courseResponseDTO));
+    }
+
+    @Test
+    void importEnrollmentsCsv_shouldReportProgressPerChunk(){
+        //arrange
+        String csv = "enrollmentYear,semester,studentId,courseId\n"
+                + csvRow(2030, courseResponseDTO.getCourseId())
+                + csvRow(2031, courseResponseDTO.getCourseId())
+                + csvRow(2032, unknownCourseId);
+
+        //act
+        Flux<EnrollmentImportProgressDTO> progress = importCsv("term-2030", csv);
+
+        //assert
+        StepVerifier
+                .create(progress)
+                .consumeNextWith(chunk -> {
+                    assertEquals(0, chunk.getChunk());
+                    assertEquals(2, chunk.getRowsImported());
+                    assertEquals(0, chunk.getRowsRejected());
+                    assertTrue(chunk.getRejections().isEmpty());
+                })
+                .consumeNextWith(chunk -> {
+                    assertEquals(1, chunk.getChunk());
+                    assertEquals(0, chunk.getRowsImported());
+                    assertEquals(1, chunk.getRowsRejected());
+                    assertEquals(2, chunk.getRejections().get(0).getIndex());
+                    assertEquals(404, chunk.getRejections().get(0).getStatus());
+                    assertEquals(2, chunk.getTotalImported());
+                    assertEquals(1, chunk.getTotalRejected());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.findAllEnrollmentByEnrollmentYear(2031))
+                .consumeNextWith(enrollment -> {
+                    assertEquals(studentResponseDTO.getLastName(), enrollment.getStudentLastName());
+                    assertEquals(courseResponseDTO.getCourseName(), enrollment.getCourseName());
+                    assertNotNull(enrollment.getValidatedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollmentsCsv_sameImportIdAgain_shouldSkipCommittedChunks(){
+        //arrange
+        String firstChunk = csvRow(2030, courseResponseDTO.getCourseId()) + csvRow(2031, courseResponseDTO.getCourseId());
+        String wholeFile = firstChunk + csvRow(2032, courseResponseDTO.getCourseId()) + csvRow(2033, courseResponseDTO.getCourseId());
+
+        StepVerifier.create(importCsv("history", firstChunk)).expectNextCount(1).verifyComplete();
+
+        //act
+        Flux<EnrollmentImportProgressDTO> progress = importCsv("history", wholeFile);
+
+        //assert
+        StepVerifier
+                .create(progress)
+                .consumeNextWith(chunk -> {
+                    assertTrue(chunk.isSkipped());
+                    assertEquals(2, chunk.getRowsImported());
+                })
+                .consumeNextWith(chunk -> {
+                    assertFalse(chunk.isSkipped());
+                    assertEquals(2, chunk.getRowsImported());
+                    assertEquals(4, chunk.getTotalImported());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(4L)
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollmentsCsv_studentsServiceDown_shouldEndWithResumableStopLine(){
+        //arrange
+        when(studentClient.getStudentsByStudentIds(anyCollection()))
+                .thenReturn(Flux.just(studentResponseDTO), Flux.error(new ServiceUnavailableException("students-service is down")));
+
+        String csv = csvRow(2030, courseResponseDTO.getCourseId())
+                + csvRow(2031, courseResponseDTO.getCourseId())
+                + csvRow(2032, courseResponseDTO.getCourseId())
+                + csvRow(2033, courseResponseDTO.getCourseId())
+                + csvRow(2034, courseResponseDTO.getCourseId());
+
+        //act
+        Flux<EnrollmentImportProgressDTO> progress = importCsv("outage", csv);
+
+        //assert
+        StepVerifier
+                .create(progress)
+                .consumeNextWith(chunk -> {
+                    assertEquals(0, chunk.getChunk());
+                    assertNull(chunk.getStopReason());
+                })
+                .consumeNextWith(chunk -> {
+                    assertEquals(1, chunk.getChunk());
+                    assertNotNull(chunk.getStopReason());
+                    assertEquals(1L, chunk.getResumeFromChunk());
+                    assertEquals(0, chunk.getRowsImported());
+                    assertEquals(2, chunk.getTotalImported());
+                })
+                .verifyComplete();
+
+        StepVerifier
+                .create(enrollmentImportChunkRepository.findAllByImportId("outage"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollmentsCsv_resumedWithAnotherChunkSize_shouldBeRejected(){
+        //arrange
+        EnrollmentImportChunk committed = EnrollmentImportChunk.builder()
+                .importId("resized")
+                .chunkIndex(0L)
+                .chunkSize(3)
+                .rowsImported(3L)
+                .rowsRejected(0L)
+                .importedAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+
+        StepVerifier.create(enrollmentImportChunkRepository.save(committed)).expectNextCount(1).verifyComplete();
+
+        //act and assert
+        webTestClient
+                .post()
+                .uri("/admin/enrollments/import/{importId}", "resized")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csvRow(2030, courseResponseDTO.getCourseId()))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").value(message -> assertTrue(message.toString().contains("chunk-size=3")));
+
+        StepVerifier
+                .create(enrollmentRepository.count())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollmentsNdjson_rowAlreadyStored_shouldBeSkippedAndCounted(){
+        //arrange
+        Enrollment stored = Enrollment.builder()
+                .enrollmentId(UUID.randomUUID())
+                .enrollmentYear(2030)
+                .semester(FALL)
+                .studentId(UUID.fromString(studentResponseDTO.getStudentId()))
+                .courseId(UUID.fromString(courseResponseDTO.getCourseId()))
+                .validatedAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+
+        StepVerifier.create(enrollmentRepository.save(stored)).expectNextCount(1).verifyComplete();
+
+        EnrollmentRequestDTO storedTerm = EnrollmentRequestDTO.builder()
+                .enrollmentYear(2030)
+                .semester(FALL)
+                .studentId(studentResponseDTO.getStudentId())
+                .courseId(courseResponseDTO.getCourseId())
+                .build();
+        EnrollmentRequestDTO newTerm = storedTerm.toBuilder().enrollmentYear(2031).build();
+
+        //act
+        Flux<EnrollmentImportProgressDTO> progress = webTestClient
+                .post()
+                .uri("/admin/enrollments/import/{importId}", "ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(storedTerm, newTerm), EnrollmentRequestDTO.class)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EnrollmentImportProgressDTO.class)
+                .getResponseBody();
+
+        //assert
+        StepVerifier
+                .create(progress)
+                .consumeNextWith(chunk -> {
+                    assertEquals(1, chunk.getRowsImported());
+                    assertEquals(1, chunk.getRowsRejected());
+                    assertTrue(chunk.getRejections().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    private Flux<EnrollmentImportProgressDTO> importCsv(String importId, String csv){
+        return webTestClient
+                .post()
+                .uri("/admin/enrollments/import/{importId}", importId)
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EnrollmentImportProgressDTO.class)
+                .getResponseBody();
+    }
+
+    private String csvRow(int enrollmentYear, String courseId){
+        return enrollmentYear + ",FALL," + studentResponseDTO.getStudentId() + "," + courseId + "\n";
+    }
+}
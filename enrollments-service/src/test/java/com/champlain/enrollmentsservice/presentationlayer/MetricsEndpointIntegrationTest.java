@@ -0,0 +1,44 @@
+package com.champlain.enrollmentsservice.presentationlayer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@AutoConfigureWebTestClient
+@AutoConfigureObservability
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void prometheus_shouldExposeEndpointHistogramsAndExceptionCounters(){
+        //arrange
+        webTestClient.get()
+                .uri("/enrollments/{enrollmentId}", "too-short")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        //act and assert
+        webTestClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(scrape -> assertThat(scrape)
+                        .contains("http_server_requests_seconds_bucket{")
+                        .contains("uri=\"/enrollments/{enrollmentId}\"")
+                        .contains("http_server_exceptions_total{")
+                        .contains("exception=\"InvalidInputException\"")
+                        .contains("r2dbc_pool_")
+                        .contains("cache_gets_total{")
+                        .contains("cache=\"students-service.lookup\""));
+    }
+}
@@ -0,0 +1,88 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.domainclientlayer.CourseResponseDTO;
+import com.champlain.enrollmentsservice.domainclientlayer.StudentResponseDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentRequestDTO;
+import com.champlain.enrollmentsservice.presentationlayer.EnrollmentResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentMapperTest {
+
+    @Test
+    void toEnrollmentResponseDTO_shouldCopyEveryField() {
+        //arrange
+        Enrollment enrollment = Enrollment.builder()
+                .id(7)
+                .enrollmentId(UUID.fromString("06a7d573-bcab-4db3-956f-773324b92a80"))
+                .enrollmentYear(2021)
+                .semester(Semester.FALL)
+                .studentId(UUID.fromString("c3540a89-cb47-4c96-888e-ff96708db4d8"))
+                .studentFirstName("Christine")
+                .studentLastName("Gerard")
+                .courseId(UUID.fromString("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223"))
+                .courseNumber("N45-LA")
+                .courseName("Web Services")
+                .build();
+
+        //act
+        EnrollmentResponseDTO enrollmentResponseDTO = EnrollmentMapper.INSTANCE.toEnrollmentResponseDTO(enrollment);
+
+        //assert
+        assertEquals(EnrollmentResponseDTO.builder()
+                .enrollmentId("06a7d573-bcab-4db3-956f-773324b92a80")
+                .enrollmentYear(2021)
+                .semester(Semester.FALL)
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .studentFirstName("Christine")
+                .studentLastName("Gerard")
+                .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                .courseNumber("N45-LA")
+                .courseName("Web Services")
+                .build(), enrollmentResponseDTO);
+    }
+
+    @Test
+    void toEnrollmentEntity_shouldCombineRequestStudentAndCourse() {
+        //arrange
+        EnrollmentRequestDTO enrollmentRequestDTO = EnrollmentRequestDTO.builder()
+                .enrollmentYear(2023)
+                .semester(Semester.SPRING)
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                .build();
+
+        StudentResponseDTO studentResponseDTO = StudentResponseDTO.builder()
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .firstName("Donna")
+                .lastName("Hornsby")
+                .program("History")
+                .build();
+
+        CourseResponseDTO courseResponseDTO = CourseResponseDTO.builder()
+                .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                .courseNumber("420-N45-LA")
+                .courseName("Web Services")
+                .build();
+
+        //act
+        Enrollment enrollment = EnrollmentMapper.INSTANCE.toEnrollmentEntity(enrollmentRequestDTO, studentResponseDTO, courseResponseDTO);
+
+        //assert
+        assertNull(enrollment.getId());
+        assertNull(enrollment.getEnrollmentId());
+        assertEquals(2023, enrollment.getEnrollmentYear());
+        assertEquals(Semester.SPRING, enrollment.getSemester());
+        assertEquals(UUID.fromString("c3540a89-cb47-4c96-888e-ff96708db4d8"), enrollment.getStudentId());
+        assertEquals("Donna", enrollment.getStudentFirstName());
+        assertEquals("Hornsby", enrollment.getStudentLastName());
+        assertEquals(UUID.fromString("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223"), enrollment.getCourseId());
+        assertEquals("420-N45-LA", enrollment.getCourseNumber());
+        assertEquals("Web Services", enrollment.getCourseName());
+    }
+}
@@ -0,0 +1,94 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {"app.seed.students=100", "app.seed.courses=40",
+        "app.seed.enrollments=1003", "app.seed.chunk-size=250"})
+@ActiveProfiles({"default", "seed"})
+@AutoConfigureWebTestClient
+class SyntheticDataLoaderTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    ReadinessProbe readinessProbe;
+
+    // counts the stored enrollments at the moment the readiness state switches to ACCEPTING_TRAFFIC
+    @TestConfiguration
+    static class ReadinessProbe {
+
+        private final EnrollmentRepository enrollmentRepository;
+        private final AtomicLong enrollmentsWhenReady = new AtomicLong(-1);
+
+        ReadinessProbe(EnrollmentRepository enrollmentRepository) {
+            this.enrollmentRepository = enrollmentRepository;
+        }
+
+        @EventListener
+        public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+            if(event.getState() == ReadinessState.ACCEPTING_TRAFFIC)
+                enrollmentsWhenReady.set(enrollmentRepository.count().block());
+        }
+
+        long getEnrollmentsWhenReady() {
+            return enrollmentsWhenReady.get();
+        }
+    }
+
+    @Test
+    void seedProfile_shouldWriteAllEnrollmentsBeforeReportingReady(){
+        //assert
+        assertEquals(1003L, readinessProbe.getEnrollmentsWhenReady());
+
+        webTestClient.get()
+                .uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void seedProfile_shouldReferenceSyntheticStudentsAndFavourTheFirstCourses(){
+        //act
+        Map<UUID, Long> enrollmentsPerCourse = enrollmentRepository.findAll()
+                .collect(Collectors.groupingBy(Enrollment::getCourseId, Collectors.counting()))
+                .block();
+
+        //assert
+        assertNotNull(enrollmentsPerCourse);
+        long mostPopular = enrollmentsPerCourse.getOrDefault(SyntheticData.courseId(42, 0), 0L);
+        long middle = enrollmentsPerCourse.getOrDefault(SyntheticData.courseId(42, 20), 0L);
+        assertTrue(mostPopular > 5 * middle, mostPopular + " enrollments in the first course, " + middle + " in the 21st");
+
+        StepVerifier
+                .create(enrollmentRepository.findAllEnrollmentByStudentId(SyntheticData.studentId(42, 3)))
+                .thenConsumeWhile(enrollment -> {
+                    assertEquals(SyntheticData.studentLastName(3), enrollment.getStudentLastName());
+                    return true;
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,66 @@
+package com.champlain.enrollmentsservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void generate_shouldReturnVersion7UuidWithTheClockMillis() {
+        //arrange
+        long millis = 1_700_000_000_123L;
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> millis);
+
+        //act
+        String id = generator.generate();
+
+        //assert
+        UUID uuid = UUID.fromString(id);
+        assertEquals(36, id.length());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(millis, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void generate_sameMillisecondAndClockGoingBack_shouldStillSortInOrder() {
+        //arrange
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+        List<String> ids = new ArrayList<>();
+
+        //act
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000)
+                clock.addAndGet(-1_000);
+            ids.add(generator.generate());
+        }
+
+        //assert: 10 000 ids overflow the 12-bit counter, which carries into the timestamp
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(String::compareTo);
+        assertEquals(sorted, ids);
+    }
+
+    @Test
+    void generate_concurrently_shouldNotRepeatIds() {
+        //arrange
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        //act
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.generate()));
+
+        //assert
+        assertEquals(100_000, ids.size());
+    }
+}
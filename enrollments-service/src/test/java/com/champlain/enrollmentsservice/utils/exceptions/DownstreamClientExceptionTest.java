@@ -0,0 +1,40 @@
+package com.champlain.enrollmentsservice.utils.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamClientExceptionTest {
+
+    @Test
+    public void testDefaultConstructor() {
+        DownstreamClientException exception = new DownstreamClientException();
+        assertNull(exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testMessageConstructor() {
+        String errorMessage = "The students-service rejected the request";
+        DownstreamClientException exception = new DownstreamClientException(errorMessage);
+        assertEquals(errorMessage, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+    @Test
+    public void testCauseConstructor() {
+        Throwable cause = new Throwable("Test cause");
+        DownstreamClientException exception = new DownstreamClientException(cause);
+        Assertions.assertEquals("java.lang.Throwable: Test cause", exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+    @Test
+    public void testMessageAndCauseConstructor() {
+        String errorMessage = "The students-service rejected the request";
+        Throwable cause = new IllegalArgumentException("Invalid ID");
+        DownstreamClientException exception = new DownstreamClientException(errorMessage, cause);
+        assertEquals(errorMessage, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+}
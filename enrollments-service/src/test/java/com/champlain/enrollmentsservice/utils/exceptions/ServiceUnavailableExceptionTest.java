@@ -0,0 +1,39 @@
+package com.champlain.enrollmentsservice.utils.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceUnavailableExceptionTest {
+
+    @Test
+    public void testDefaultConstructor() {
+        ServiceUnavailableException exception = new ServiceUnavailableException();
+        assertNull(exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testMessageConstructor() {
+        String errorMessage = "Courses service is unavailable";
+        ServiceUnavailableException exception = new ServiceUnavailableException(errorMessage);
+        assertEquals(errorMessage, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+    @Test
+    public void testCauseConstructor() {
+        Throwable cause = new Throwable("Test cause");
+        ServiceUnavailableException exception = new ServiceUnavailableException(cause);
+        Assertions.assertEquals("java.lang.Throwable: Test cause", exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+    @Test
+    public void testMessageAndCauseConstructor() {
+        String errorMessage = "Courses service is unavailable";
+        Throwable cause = new IllegalArgumentException("Connection refused");
+        ServiceUnavailableException exception = new ServiceUnavailableException(errorMessage, cause);
+        assertEquals(errorMessage, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
\ No newline at end of file
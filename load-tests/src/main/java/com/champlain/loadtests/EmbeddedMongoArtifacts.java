@@ -0,0 +1,49 @@
+package com.champlain.loadtests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * The MongoDB binaries that students-service and courses-service start in their default profile. The embedded
+ * MongoDB library keeps every distribution it downloaded in its artifact store, $EMBEDDED_MONGO_ARTIFACTS or
+ * ~/.embedmongo, and only goes to the network when the requested version is not there. The load test has to run
+ * offline, so it checks the store before starting any service instead of letting a service attempt the download.
+ */
+final class EmbeddedMongoArtifacts {
+
+    private EmbeddedMongoArtifacts() {
+    }
+
+    static Path store() {
+        String artifacts = System.getenv("EMBEDDED_MONGO_ARTIFACTS");
+        return artifacts != null && !artifacts.isBlank()
+                ? Path.of(artifacts)
+                : Path.of(System.getProperty("user.home"), ".embedmongo");
+    }
+
+    static void requireCached(String version) {
+        Path store = store();
+        if(!isCached(store, version))
+            throw new IllegalStateException("MongoDB " + version + " is not in the embedded MongoDB artifact store "
+                    + store + ", and the load test does not download it. Run ./gradlew :students-service:test once "
+                    + "with network access, or copy the MongoDB " + version + " archive for this platform into " + store
+                    + " (EMBEDDED_MONGO_ARTIFACTS moves the store). -Dloadtest.mongodb.version selects another cached version.");
+    }
+
+    // archives are stored under the name of their download, which contains the version, e.g. mongodb-linux-x86_64-5.0.5.tgz
+    private static boolean isCached(Path store, String version) {
+        if(!Files.isDirectory(store))
+            return false;
+
+        try (Stream<Path> files = Files.walk(store, 6)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .anyMatch(name -> name.startsWith("mongodb") && name.contains("-" + version));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
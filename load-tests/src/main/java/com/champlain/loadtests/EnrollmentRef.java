@@ -0,0 +1,24 @@
+package com.champlain.loadtests;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// the fields of an EnrollmentResponseDTO the run needs to address it again
+@Data
+@NoArgsConstructor
+class EnrollmentRef {
+
+    private String enrollmentId;
+    private String studentId;
+    private String courseId;
+
+    @Data
+    @NoArgsConstructor
+    static class Page {
+
+        private List<EnrollmentRef> enrollments;
+        private String next;
+    }
+}
@@ -0,0 +1,160 @@
+package com.champlain.loadtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the operation mix against EnrollmentController at a fixed rate. The load is open: request n is due at
+ * start + n / rate whatever happened to the requests before it, and its latency counts from that moment. Slow
+ * answers therefore show up in the percentiles instead of silently lowering the rate.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final Duration TICK = Duration.ofMillis(1);
+    private static final String[] SEMESTERS = {"WINTER", "SPRING", "SUMMER", "FALL"};
+    // added and updated enrollments move to these years, after the seeded terms
+    private static final int FIRST_YEAR = 2030;
+    private static final int YEARS = 100;
+
+    private final WebClient webClient;
+    private final LoadTestSettings settings;
+    private final List<EnrollmentRef> seeded;
+    private final Queue<String> added = new ConcurrentLinkedQueue<>();
+
+    private LoadDriver(WebClient webClient, LoadTestSettings settings, List<EnrollmentRef> seeded) {
+        this.webClient = webClient;
+        this.settings = settings;
+        this.seeded = seeded;
+    }
+
+    // pages through the seeded enrollments for the ids the reads and updates work on
+    static Mono<LoadDriver> prepare(WebClient webClient, LoadTestSettings settings) {
+        return fetchPage(webClient, null)
+                .expand(page -> page.getNext() == null ? Mono.empty() : fetchPage(webClient, page.getNext()))
+                .concatMapIterable(EnrollmentRef.Page::getEnrollments)
+                .take(settings.getIdPoolSize())
+                .collectList()
+                .filter(seeded -> !seeded.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("enrollments-service has no enrollments, check app.seed.enrollments")))
+                .doOnNext(seeded -> log.info("Running against {} seeded enrollments", seeded.size()))
+                .map(seeded -> new LoadDriver(webClient, settings, seeded));
+    }
+
+    Mono<LoadStats> run(Duration duration) {
+        return Mono.defer(() -> {
+            LoadStats stats = new LoadStats();
+            double nanosPerRequest = 1e9 / settings.getRate();
+            long total = (long) (duration.toNanos() / nanosPerRequest);
+            long start = System.nanoTime();
+            AtomicLong issued = new AtomicLong();
+
+            return Flux.interval(TICK)
+                    // a dropped tick costs nothing, the next one issues every request that has become due
+                    .onBackpressureDrop()
+                    .concatMapIterable(tick -> {
+                        long due = Math.min(total, (long) ((System.nanoTime() - start) / nanosPerRequest) + 1);
+                        List<Long> dueAt = new ArrayList<>();
+                        for(long n = issued.get(); n < due; n++)
+                            dueAt.add(start + (long) (n * nanosPerRequest));
+                        issued.set(Math.max(issued.get(), due));
+                        return dueAt;
+                    })
+                    .take(total)
+                    .flatMap(dueAt -> execute(settings.getMix().pick(ThreadLocalRandom.current()), dueAt, stats),
+                            settings.getMaxInFlight())
+                    .then(Mono.fromSupplier(() -> stats.finish(start)));
+        });
+    }
+
+    private Mono<Void> execute(Operation operation, long dueAt, LoadStats stats) {
+        OperationStats operationStats = stats.of(operation);
+        return Mono.defer(() -> switch(operation) {
+                    case READ -> read();
+                    case ADD -> add();
+                    case UPDATE -> update();
+                    case DELETE -> delete();
+                })
+                .onErrorReturn(OperationStats.NO_RESPONSE)
+                .doOnNext(status -> operationStats.record(System.nanoTime() - dueAt, status, operation.getExpectedStatus()))
+                .switchIfEmpty(Mono.fromRunnable(operationStats::skip))
+                .then();
+    }
+
+    private Mono<Integer> read() {
+        return webClient.get()
+                .uri("/enrollments/{enrollmentId}", randomSeeded().getEnrollmentId())
+                .exchangeToMono(LoadDriver::status);
+    }
+
+    private Mono<Integer> add() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String studentId = SyntheticData.studentId(settings.getRandomSeed(), random.nextInt(settings.getStudents()));
+        String courseId = SyntheticData.courseId(settings.getRandomSeed(), random.nextInt(settings.getCourses()));
+
+        return webClient.post()
+                .uri("/enrollments")
+                .bodyValue(laterTerm(studentId, courseId))
+                .exchangeToMono(response -> response.statusCode().value() == Operation.ADD.getExpectedStatus()
+                        ? response.bodyToMono(EnrollmentRef.class)
+                                .doOnNext(enrollment -> added.add(enrollment.getEnrollmentId()))
+                                .thenReturn(response.statusCode().value())
+                        : status(response));
+    }
+
+    private Mono<Integer> update() {
+        EnrollmentRef enrollment = randomSeeded();
+        return webClient.put()
+                .uri("/enrollments/{enrollmentId}", enrollment.getEnrollmentId())
+                .bodyValue(laterTerm(enrollment.getStudentId(), enrollment.getCourseId()))
+                .exchangeToMono(LoadDriver::status);
+    }
+
+    private Mono<Integer> delete() {
+        String enrollmentId = added.poll();
+        if(enrollmentId == null)
+            return Mono.empty();
+
+        return webClient.delete()
+                .uri("/enrollments/{enrollmentId}", enrollmentId)
+                .exchangeToMono(LoadDriver::status);
+    }
+
+    private EnrollmentRef randomSeeded() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+
+    private static Map<String, Object> laterTerm(String studentId, String courseId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of(
+                "enrollmentYear", FIRST_YEAR + random.nextInt(YEARS),
+                "semester", SEMESTERS[random.nextInt(SEMESTERS.length)],
+                "studentId", studentId,
+                "courseId", courseId);
+    }
+
+    private static Mono<Integer> status(ClientResponse response) {
+        return response.releaseBody().thenReturn(response.statusCode().value());
+    }
+
+    private static Mono<EnrollmentRef.Page> fetchPage(WebClient webClient, String next) {
+        return webClient.get()
+                .uri(uriBuilder -> next == null
+                        ? uriBuilder.path("/enrollments/page").queryParam("limit", 500).build()
+                        : uriBuilder.path("/enrollments/page").queryParam("limit", 500).queryParam("next", "{next}").build(next))
+                .retrieve()
+                .bodyToMono(EnrollmentRef.Page.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.champlain.loadtests;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+class LoadStats {
+
+    private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+    private Duration elapsed = Duration.ZERO;
+
+    LoadStats() {
+        for(Operation operation : Operation.values())
+            operations.put(operation, new OperationStats());
+    }
+
+    OperationStats of(Operation operation) {
+        return operations.get(operation);
+    }
+
+    LoadStats finish(long startNanos) {
+        elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        return this;
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        operations.values().forEach(stats -> total.add(stats.getLatencies()));
+        return total;
+    }
+
+    long errors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    String report(LoadTestSettings settings) {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%nEnrollment load test: target %.0f req/s for %ds, mix %s, %d students, %d courses, %d seeded enrollments%n",
+                        settings.getRate(), settings.getDuration().toSeconds(), settings.getMix(),
+                        settings.getStudents(), settings.getCourses(), settings.getEnrollments()))
+                .append(String.format("%-8s %9s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                        "", "requests", "errors", "skipped", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms"));
+
+        operations.forEach((operation, stats) -> {
+            if(stats.getCount() > 0 || stats.getSkipped() > 0)
+                report.append(line(operation.name().toLowerCase(), stats.getLatencies(), stats.getErrors(), stats.getSkipped()));
+        });
+        report.append(line("total", total(), errors(),
+                operations.values().stream().mapToLong(OperationStats::getSkipped).sum()));
+
+        operations.forEach((operation, stats) -> {
+            if(stats.getErrors() > 0)
+                report.append(String.format("%s errors by status (0: no response): %s%n",
+                        operation.name().toLowerCase(), stats.getErrorStatuses()));
+        });
+        return report.toString();
+    }
+
+    // the budgets of the run this one broke, empty when it passed
+    List<String> violations(LoadTestSettings settings) {
+        List<String> violations = new ArrayList<>();
+        Histogram total = total();
+        double errorRate = total.getTotalCount() == 0 ? 0 : (double) errors() / total.getTotalCount();
+        if(errorRate > settings.getMaxErrorRate())
+            violations.add(String.format("Error rate %.4f is above loadtest.max-error-rate %.4f", errorRate, settings.getMaxErrorRate()));
+
+        if(settings.getMaxP99() != null) {
+            Duration p99 = Duration.ofNanos(total.getValueAtPercentile(99) * 1_000);
+            if(p99.compareTo(settings.getMaxP99()) > 0)
+                violations.add("p99 latency " + p99.toMillis() + " ms is above loadtest.max-p99 " + settings.getMaxP99().toMillis() + " ms");
+        }
+        return violations;
+    }
+
+    private String line(String name, Histogram latencies, long errors, long skipped) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        return String.format("%-8s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.getTotalCount(), errors, skipped, latencies.getTotalCount() / seconds,
+                millis(latencies, 50), millis(latencies, 95), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / 1_000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.champlain.loadtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts students-service, courses-service and enrollments-service in their default profile (embedded MongoDB and
+ * H2) together with the seed profile, waits until every service reports ready, warms up and then measures one run
+ * of LoadDriver. Nothing is downloaded: a MongoDB binary missing from the local store fails the run before any
+ * service starts (see EmbeddedMongoArtifacts). Exits with 1 when the run breaks loadtest.max-error-rate or loadtest.max-p99.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        EmbeddedMongoArtifacts.requireCached(settings.getMongodbVersion());
+
+        List<ServiceProcess> services = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> services.forEach(ServiceProcess::close)));
+
+        List<String> seedArguments = List.of(
+                "--spring.profiles.active=default,seed",
+                "--app.seed.students=" + settings.getStudents(),
+                "--app.seed.courses=" + settings.getCourses(),
+                "--app.seed.enrollments=" + settings.getEnrollments(),
+                "--app.seed.random-seed=" + settings.getRandomSeed(),
+                // per-request debug logging would be part of what gets measured
+                "--logging.level.com.champlain=INFO");
+
+        List<String> mongoArguments = new ArrayList<>(seedArguments);
+        mongoArguments.add("--de.flapdoodle.mongodb.embedded.version=" + settings.getMongodbVersion());
+
+        List<String> enrollmentsArguments = new ArrayList<>(seedArguments);
+        enrollmentsArguments.add("--app.students-service.port=" + settings.getStudentsPort());
+        enrollmentsArguments.add("--app.courses-service.port=" + settings.getCoursesPort());
+
+        services.add(ServiceProcess.start("students-service", "com.champlain.studentsservice.StudentsServiceApplication",
+                settings.getStudentsPort(), mongoArguments, settings));
+        services.add(ServiceProcess.start("courses-service", "com.champlain.courseservice.CoursesServiceApplication",
+                settings.getCoursesPort(), mongoArguments, settings));
+        services.add(ServiceProcess.start("enrollments-service", "com.champlain.enrollmentsservice.EnrollmentsServiceApplication",
+                settings.getEnrollmentsPort(), enrollmentsArguments, settings));
+
+        WebClient webClient = WebClient.create();
+        Flux.fromIterable(services)
+                .flatMap(service -> service.awaitReady(webClient, settings.getStartupTimeout()))
+                .blockLast();
+
+        LoadDriver loadDriver = LoadDriver.prepare(webClient.mutate().baseUrl("http://localhost:" + settings.getEnrollmentsPort()).build(), settings)
+                .block();
+
+        if(!settings.getWarmup().isZero()) {
+            log.info("Warming up for {}s", settings.getWarmup().toSeconds());
+            loadDriver.run(settings.getWarmup()).block();
+        }
+
+        log.info("Measuring {} req/s for {}s", settings.getRate(), settings.getDuration().toSeconds());
+        LoadStats stats = loadDriver.run(settings.getDuration()).block();
+        System.out.println(stats.report(settings));
+
+        List<String> violations = stats.violations(settings);
+        violations.forEach(log::error);
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.champlain.loadtests;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The loadtest.* system properties of a run. Durations are written like 30s, 2m or 500ms.
+ */
+@Value
+@Builder
+public class LoadTestSettings {
+
+    // requests started per second, whether or not earlier ones have answered
+    double rate;
+    Duration warmup;
+    Duration duration;
+    OperationMix mix;
+    // requests waiting for an answer before new ones queue up (the queueing time counts as latency)
+    int maxInFlight;
+    // seeded enrollments read and updated by the run
+    int idPoolSize;
+
+    int students;
+    int courses;
+    int enrollments;
+    long randomSeed;
+
+    int studentsPort;
+    int coursesPort;
+    int enrollmentsPort;
+    String serviceJvmArgs;
+    // embedded MongoDB of students-service and courses-service, taken from the local artifact store only
+    String mongodbVersion;
+    Duration startupTimeout;
+    Path logs;
+
+    double maxErrorRate;
+    // null when the run has no latency budget
+    Duration maxP99;
+
+    public static LoadTestSettings fromSystemProperties() {
+        return LoadTestSettings.builder()
+                .rate(Double.parseDouble(property("rate", "200")))
+                .warmup(duration(property("warmup", "15s")))
+                .duration(duration(property("duration", "60s")))
+                .mix(OperationMix.parse(property("mix", "read:70,add:10,update:15,delete:5")))
+                .maxInFlight(Integer.parseInt(property("max-in-flight", "256")))
+                .idPoolSize(Integer.parseInt(property("id-pool-size", "5000")))
+                .students(Integer.parseInt(property("seed.students", "10000")))
+                .courses(Integer.parseInt(property("seed.courses", "500")))
+                .enrollments(Integer.parseInt(property("seed.enrollments", "100000")))
+                .randomSeed(Long.parseLong(property("seed.random-seed", "42")))
+                .studentsPort(Integer.parseInt(property("students-service.port", "7001")))
+                .coursesPort(Integer.parseInt(property("courses-service.port", "7002")))
+                .enrollmentsPort(Integer.parseInt(property("enrollments-service.port", "7003")))
+                .serviceJvmArgs(property("service-jvm-args", "-Xmx1g"))
+                .mongodbVersion(property("mongodb.version", "5.0.5"))
+                .startupTimeout(duration(property("startup-timeout", "5m")))
+                .logs(Path.of(property("logs", "build/load-test")))
+                .maxErrorRate(Double.parseDouble(property("max-error-rate", "0.01")))
+                .maxP99(System.getProperty("loadtest.max-p99") == null ? null : duration(System.getProperty("loadtest.max-p99")))
+                .build();
+    }
+
+    public static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    static Duration duration(String value) {
+        String normalized = value.trim().toLowerCase();
+        if(normalized.endsWith("ms"))
+            return Duration.ofMillis(Long.parseLong(normalized.substring(0, normalized.length() - 2)));
+        return Duration.parse("PT" + normalized.toUpperCase());
+    }
+}
@@ -0,0 +1,23 @@
+package com.champlain.loadtests;
+
+public enum Operation {
+
+    // GET /enrollments/{enrollmentId} of a seeded enrollment
+    READ(200),
+    // POST /enrollments for a synthetic student and course in a term after the seeded ones
+    ADD(201),
+    // PUT /enrollments/{enrollmentId} moving a seeded enrollment to another term
+    UPDATE(200),
+    // DELETE /enrollments/{enrollmentId} of an enrollment added by the run
+    DELETE(204);
+
+    private final int expectedStatus;
+
+    Operation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public int getExpectedStatus() {
+        return expectedStatus;
+    }
+}
@@ -0,0 +1,52 @@
+package com.champlain.loadtests;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of the operations, written like read:70,add:10,update:15,delete:5. Operations that are left out
+ * are not run.
+ */
+public class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static OperationMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for(String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if(parts.length != 2)
+                throw new IllegalArgumentException("Operation weights are written like read:70, not: " + entry);
+            int weight = Integer.parseInt(parts[1].trim());
+            if(weight < 0)
+                throw new IllegalArgumentException("Operation weights cannot be negative: " + entry);
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        OperationMix operationMix = new OperationMix(weights);
+        if(operationMix.total == 0)
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight: " + mix);
+        return operationMix;
+    }
+
+    public Operation pick(RandomGenerator random) {
+        int draw = random.nextInt(total);
+        for(Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            draw -= weight.getValue();
+            if(draw < 0)
+                return weight.getKey();
+        }
+        throw new IllegalStateException("The weights add up to " + total);
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.champlain.loadtests;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds, measured from the moment a request was due rather than sent, so time spent queued
+ * behind slow requests is not left out; answers with another status than expected are errors.
+ */
+class OperationStats {
+
+    // status recorded for requests that got no HTTP answer at all
+    static final int NO_RESPONSE = 0;
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, int status, int expectedStatus) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+        if(status != expectedStatus) {
+            errors.increment();
+            errorStatuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    // the operation had nothing to work on, e.g. a delete before the run added anything
+    void skip() {
+        skipped.increment();
+    }
+
+    Histogram getLatencies() {
+        return latencies;
+    }
+
+    long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    Map<Integer, Long> getErrorStatuses() {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        errorStatuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        return statuses;
+    }
+}
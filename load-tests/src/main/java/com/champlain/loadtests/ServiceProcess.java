@@ -0,0 +1,83 @@
+package com.champlain.loadtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service started in its own JVM, with its output in logs/<name>.log.
+ */
+@Slf4j
+class ServiceProcess implements AutoCloseable {
+
+    private final String name;
+    private final int port;
+    private final Process process;
+
+    private ServiceProcess(String name, int port, Process process) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+    }
+
+    static ServiceProcess start(String name, String mainClass, int port, List<String> arguments,
+                                LoadTestSettings settings) throws IOException {
+        String classpath = System.getProperty("loadtest." + name + ".classpath");
+        if(classpath == null)
+            throw new IllegalStateException("loadtest." + name + ".classpath is not set, run the load test with ./gradlew :load-tests:loadTest");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(settings.getServiceJvmArgs().trim().split("\\s+")));
+        command.addAll(List.of("-cp", classpath, mainClass, "--server.port=" + port));
+        command.addAll(arguments);
+
+        Files.createDirectories(settings.getLogs());
+        File logFile = settings.getLogs().resolve(name + ".log").toFile();
+        log.info("Starting {} on port {}, output in {}", name, port, logFile);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+        return new ServiceProcess(name, port, process);
+    }
+
+    // seeding happens before the readiness probe turns UP, see the services' SyntheticDataLoader
+    Mono<Void> awaitReady(WebClient webClient, Duration timeout) {
+        return Mono.defer(() -> process.isAlive()
+                        ? webClient.get()
+                                .uri("http://localhost:{port}/actuator/health/readiness", port)
+                                .retrieve()
+                                .toBodilessEntity()
+                                .then()
+                        : Mono.error(new IllegalStateException(name + " exited with " + process.exitValue() + ", see its log")))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(500))
+                        .filter(ex -> !(ex instanceof IllegalStateException)))
+                .timeout(timeout)
+                .doOnSuccess(ready -> log.info("{} is ready", name));
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if(!process.waitFor(30, TimeUnit.SECONDS))
+                process.destroyForcibly();
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
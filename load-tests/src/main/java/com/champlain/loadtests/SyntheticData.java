@@ -0,0 +1,22 @@
+package com.champlain.loadtests;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * The ids of the students and courses the services seed under the seed profile; copies of the studentId and
+ * courseId functions of their SyntheticData classes.
+ */
+final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    static String studentId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("student:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static String courseId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("course:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.champlain.studentsservice.utils;
+
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.presentationlayer.StudentRequestDTO;
+import com.champlain.studentsservice.presentationlayer.StudentResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentMappingBenchmark {
+
+    private Student student;
+    private StudentRequestDTO studentRequestDTO;
+
+    @Setup
+    public void setUp() {
+        student = Student.builder()
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .firstName("Christine")
+                .lastName("Gerard")
+                .program("History")
+                .build();
+
+        studentRequestDTO = StudentRequestDTO.builder()
+                .firstName("Christine")
+                .lastName("Gerard")
+                .program("History")
+                .build();
+    }
+
+    @Benchmark
+    public StudentResponseDTO toResponseDTO_beanUtils() {
+        StudentResponseDTO studentResponseDTO = new StudentResponseDTO();
+        BeanUtils.copyProperties(student, studentResponseDTO);
+        return studentResponseDTO;
+    }
+
+    @Benchmark
+    public StudentResponseDTO toResponseDTO_mapStruct() {
+        return StudentMapper.INSTANCE.toStudentResponseDTO(student);
+    }
+
+    @Benchmark
+    public Student toEntity_beanUtils() {
+        Student entity = new Student();
+        BeanUtils.copyProperties(studentRequestDTO, entity);
+        return entity;
+    }
+
+    @Benchmark
+    public Student toEntity_mapStruct() {
+        return StudentMapper.INSTANCE.toStudentEntity(studentRequestDTO);
+    }
+}
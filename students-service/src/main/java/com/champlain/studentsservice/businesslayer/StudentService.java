@@ -1,16 +1,22 @@
 package com.champlain.studentsservice.businesslayer;
 
 
+import com.champlain.studentsservice.presentationlayer.StudentImportResultDTO;
+import com.champlain.studentsservice.presentationlayer.StudentLookupResponseDTO;
 import com.champlain.studentsservice.presentationlayer.StudentRequestDTO;
 import com.champlain.studentsservice.presentationlayer.StudentResponseDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface StudentService {
 
 Flux<StudentResponseDTO> getAllStudents();
 Mono<StudentResponseDTO> getStudentById(String studentId);
+Mono<StudentLookupResponseDTO> getStudentsByStudentIds(List<String> studentIds);
 Mono<StudentResponseDTO> addStudent(Mono<StudentRequestDTO> studentRequestDTO);
+Flux<StudentImportResultDTO> importStudents(Flux<StudentRequestDTO> studentRequestDTOs);
 Mono<StudentResponseDTO> updateStudentById(Mono<StudentRequestDTO> studentRequestDTO,String studentId);
 Mono<Void> deleteStudentById(String studentId);
 
@@ -1,16 +1,29 @@
 package com.champlain.studentsservice.businesslayer;
 
+import com.champlain.studentsservice.dataaccesslayer.Student;
 import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import com.champlain.studentsservice.presentationlayer.StudentImportResultDTO;
+import com.champlain.studentsservice.presentationlayer.StudentLookupResponseDTO;
 import com.champlain.studentsservice.presentationlayer.StudentRequestDTO;
 import com.champlain.studentsservice.presentationlayer.StudentResponseDTO;
 import com.champlain.studentsservice.utils.EntityDTOUtils;
+import com.champlain.studentsservice.utils.IdGenerator;
+import com.champlain.studentsservice.utils.exceptions.ConflictException;
 import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.studentsservice.utils.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -18,6 +31,13 @@ import reactor.core.publisher.Mono;
 public class StudentServiceImpl implements StudentService{
 
     private final StudentRepository studentRepository;
+    private final IdGenerator idGenerator;
+
+    @Value("${app.lookup.max-batch-size:500}")
+    private int maxLookupBatchSize;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int importChunkSize;
 
     @Override
     public Flux<StudentResponseDTO> getAllStudents() {
@@ -39,17 +59,99 @@ public class StudentServiceImpl implements StudentService{
 
     }
 
+    @Override
+    public Mono<StudentLookupResponseDTO> getStudentsByStudentIds(List<String> studentIds) {
+
+        if(studentIds == null || studentIds.isEmpty()){
+            return Mono.error(new InvalidInputException("At least one student ID is required for a lookup"));
+        }
+
+        Set<String> requestedStudentIds = new LinkedHashSet<>(studentIds);
+
+        if(requestedStudentIds.size() > maxLookupBatchSize){
+            return Mono.error(new InvalidInputException("A lookup can contain at most " + maxLookupBatchSize + " student IDs: " + requestedStudentIds.size()));
+        }
+
+        return studentRepository.findAllStudentByStudentIdIn(requestedStudentIds)
+                .map(EntityDTOUtils::toStudentResponseDTO)
+                .collectList()
+                .map(found -> {
+                    Set<String> missingStudentIds = new LinkedHashSet<>(requestedStudentIds);
+                    found.forEach(dto -> missingStudentIds.remove(dto.getStudentId()));
+                    return new StudentLookupResponseDTO(found, List.copyOf(missingStudentIds));
+                });
+    }
+
     @Override
     public Mono<StudentResponseDTO> addStudent(Mono<StudentRequestDTO> studentRequestDTO) {
 
         return studentRequestDTO
                 .map(EntityDTOUtils::toStudentEntity)
-                .doOnNext(e -> e.setStudentId(EntityDTOUtils.generateUUIDString()))
+                .doOnNext(e -> {
+                    e.setStudentId(idGenerator.generate());
+                    e.setVersion(null);
+                })
                 .flatMap(studentRepository::insert)
                 .map(EntityDTOUtils::toStudentResponseDTO);
 
     }
 
+    // Each chunk of importChunkSize students is written with one unordered insertMany. concatMap only reads the next
+    // chunk of the upload once the current one is written and its results were consumed, so memory is bounded by
+    // the chunk size, not by the size of the upload.
+    @Override
+    public Flux<StudentImportResultDTO> importStudents(Flux<StudentRequestDTO> studentRequestDTOs) {
+        return studentRequestDTOs
+                .index()
+                .buffer(importChunkSize)
+                .concatMap(this::importStudentChunk);
+    }
+
+    private Flux<StudentImportResultDTO> importStudentChunk(List<Tuple2<Long, StudentRequestDTO>> chunk) {
+        List<StudentImportResultDTO> results = new ArrayList<>(chunk.size());
+        List<Student> students = new ArrayList<>(chunk.size());
+        // results of the rows in students, in the same order
+        List<StudentImportResultDTO> written = new ArrayList<>(chunk.size());
+
+        for(Tuple2<Long, StudentRequestDTO> row : chunk){
+            StudentRequestDTO studentRequestDTO = row.getT2();
+            StudentImportResultDTO result = StudentImportResultDTO.builder().index(row.getT1()).build();
+            results.add(result);
+
+            if(isBlank(studentRequestDTO.getFirstName()) || isBlank(studentRequestDTO.getLastName())){
+                result.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                result.setMessage("The first name and last name of a student are required");
+                continue;
+            }
+
+            Student student = EntityDTOUtils.toStudentEntity(studentRequestDTO);
+            student.setStudentId(idGenerator.generate());
+            student.setVersion(0L);
+            students.add(student);
+            written.add(result);
+        }
+
+        return studentRepository.insertAllUnordered(students)
+                .flatMapIterable(failures -> {
+                    for(int i = 0; i < written.size(); i++){
+                        StudentImportResultDTO result = written.get(i);
+                        String failure = failures.get(i);
+                        if(failure == null){
+                            result.setStatus(HttpStatus.CREATED.value());
+                            result.setStudentId(students.get(i).getStudentId());
+                        } else {
+                            result.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                            result.setMessage(failure);
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     @Override
     public Mono<StudentResponseDTO> updateStudentById(Mono<StudentRequestDTO> studentRequestDTO,String studentId) {
 
@@ -58,16 +160,15 @@ public class StudentServiceImpl implements StudentService{
             return Mono.error(new InvalidInputException("The student ID needs to be 36 characters: " + studentId));
         }
 
-        return studentRepository.findStudentByStudentId(studentId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Student with this Id wasn't found: " + studentId)))
-                .flatMap(student ->
-                        studentRequestDTO
-                                .map(EntityDTOUtils::toStudentEntity)
-                                .doOnNext(e -> {
-                                    e.setStudentId(student.getStudentId());
-                                    e.setId(student.getId());
-                                }))
-                .flatMap(studentRepository::save)
+        return studentRequestDTO
+                .map(EntityDTOUtils::toStudentEntity)
+                .flatMap(student -> studentRepository.updateStudentByStudentId(studentId, student)
+                        // nothing matched: tell a missing student apart from a stale version
+                        .switchIfEmpty(Mono.defer(() -> studentRepository.findStudentByStudentId(studentId)
+                                .flatMap(existing -> Mono.<Student>error(new ConflictException(
+                                        "The student " + studentId + " was modified concurrently, expected version "
+                                                + student.getVersion() + " but found " + existing.getVersion())))
+                                .switchIfEmpty(Mono.error(new NotFoundException("Student with this Id wasn't found: " + studentId))))))
                 .map(EntityDTOUtils::toStudentResponseDTO);
     }
 
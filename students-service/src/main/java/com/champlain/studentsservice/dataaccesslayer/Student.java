@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import reactor.core.publisher.Mono;
 
 @Data
@@ -15,13 +17,16 @@ import reactor.core.publisher.Mono;
 public class Student {
 
 
+    // the business id is the _id, so it needs no index of its own
     @Id
-    private String id;
-
     private String studentId;
     private String firstName;
     private String lastName;
+    @Indexed
     private String program;
 
+    @Version
+    private Long version;
+
 
 }
@@ -2,10 +2,15 @@ package com.champlain.studentsservice.dataaccesslayer;
 
 
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface StudentRepository extends ReactiveMongoRepository<Student, String> {
+import java.util.Collection;
+
+public interface StudentRepository extends ReactiveMongoRepository<Student, String>, StudentRepositoryCustom {
 
     Mono<Student> findStudentByStudentId(String studentId);
 
+    Flux<Student> findAllStudentByStudentIdIn(Collection<String> studentIds);
+
 }
@@ -0,0 +1,22 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StudentRepositoryCustom {
+
+    /**
+     * Overwrites the editable fields of the student with the given studentId in one findAndModify and emits the new document.
+     * When student.version is set the update only applies to that version. Completes empty when nothing matched.
+     */
+    Mono<Student> updateStudentByStudentId(String studentId, Student student);
+
+    /**
+     * Inserts the students with one unordered insertMany: a document that fails does not stop the others.
+     * Emits the position in the list and error message of every document that was not inserted, empty when all were.
+     */
+    Mono<Map<Integer, String>> insertAllUnordered(List<Student> students);
+
+}
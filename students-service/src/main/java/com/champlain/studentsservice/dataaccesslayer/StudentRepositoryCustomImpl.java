@@ -0,0 +1,61 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Student> updateStudentByStudentId(String studentId, Student student) {
+        Criteria criteria = Criteria.where("studentId").is(studentId);
+        if (student.getVersion() != null)
+            criteria = criteria.and("version").is(student.getVersion());
+
+        Update update = new Update()
+                .set("firstName", student.getFirstName())
+                .set("lastName", student.getLastName())
+                .set("program", student.getProgram())
+                .inc("version", 1);
+
+        return reactiveMongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true).upsert(false), Student.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Student> students) {
+        if (students.isEmpty())
+            return Mono.just(Map.of());
+
+        // ReactiveMongoTemplate.insertAll is ordered and stops at the first failure, so the documents go to the
+        // driver directly; written by the template's converter they look exactly like the ones insert() creates
+        List<Document> documents = students.stream()
+                .map(student -> {
+                    Document document = new Document();
+                    reactiveMongoTemplate.getConverter().write(student, document);
+                    return document;
+                })
+                .toList();
+
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Student.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(MongoBulkWriteException.class, ex -> Mono.just(ex.getWriteErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage))));
+    }
+}
@@ -13,6 +13,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URISyntaxException;
+import java.util.List;
 
 @RestController
 @RequestMapping("students")
@@ -34,12 +35,24 @@ public class StudentController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<StudentLookupResponseDTO>> getStudentsByStudentIds(@RequestBody List<String> studentIds){
+        return studentService.getStudentsByStudentIds(studentIds)
+                .map(lookup -> ResponseEntity.ok().body(lookup));
+    }
+
     @PostMapping()
     public Mono<ResponseEntity<StudentResponseDTO>> addStudent(@RequestBody Mono<StudentRequestDTO> studentRequestBody) throws URISyntaxException {
         return studentService.addStudent(studentRequestBody).map(s -> ResponseEntity.status(HttpStatus.CREATED).body(s))
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
 
+    // one student request per NDJSON line in, one result per line out, in the same order
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentImportResultDTO> importStudents(@RequestBody Flux<StudentRequestDTO> studentRequestBodies){
+        return studentService.importStudents(studentRequestBodies);
+    }
+
     @PutMapping("/{studentId}")
     public Mono<ResponseEntity<StudentResponseDTO>> updateStudent(@PathVariable String studentId,@RequestBody Mono<StudentRequestDTO> studentRequestBody){
         return this.studentService.updateStudentById(studentRequestBody,studentId)
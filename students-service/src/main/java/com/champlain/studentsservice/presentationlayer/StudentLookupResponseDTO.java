@@ -0,0 +1,20 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentLookupResponseDTO {
+
+    private List<StudentResponseDTO> students;
+    private List<String> missingStudentIds;
+
+
+}
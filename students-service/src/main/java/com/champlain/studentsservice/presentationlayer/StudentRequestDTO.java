@@ -14,6 +14,8 @@ public class StudentRequestDTO {
     private String firstName;
     private String lastName;
     private String program;
+    // optional: only update when the stored document still has this version
+    private Long version;
 
 
 
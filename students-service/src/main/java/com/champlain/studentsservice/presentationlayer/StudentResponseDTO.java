@@ -16,6 +16,7 @@ public class StudentResponseDTO {
     private String firstName;
     private String lastName;
     private String program;
+    private Long version;
 
 
 }
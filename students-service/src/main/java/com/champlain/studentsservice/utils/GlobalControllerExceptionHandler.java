@@ -1,21 +1,30 @@
 package com.champlain.studentsservice.utils;
 
+import com.champlain.studentsservice.utils.exceptions.ConflictException;
 import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
 import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalControllerExceptionHandler {
 
+    // optional so that web slice tests without a registry still load the advice
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @ResponseStatus(NOT_FOUND)
     @ExceptionHandler(NotFoundException.class)
     public HttpErrorInfo handleNotFoundException(ServerHttpRequest request, Exception ex) {
@@ -28,6 +37,12 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(ConflictException.class)
+    public HttpErrorInfo handleConflictException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, ServerHttpRequest request, Exception ex) {
        //final String path = request.getDescription(false);
 
@@ -35,6 +50,10 @@ public class GlobalControllerExceptionHandler {
         final String message = ex.getMessage();
         log.debug("Returning HTTP status: {} for path: {}, message: {}", httpStatus, path, message);
 
+        meterRegistry.ifAvailable(registry -> registry.counter("http.server.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(httpStatus.value())).increment());
+
         return new HttpErrorInfo(httpStatus, path, message);
     }
 
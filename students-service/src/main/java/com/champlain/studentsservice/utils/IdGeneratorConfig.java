@@ -0,0 +1,14 @@
+package com.champlain.studentsservice.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${app.id-generator:time-ordered}") IdGenerator.Strategy strategy) {
+        return IdGenerator.of(strategy);
+    }
+}
@@ -0,0 +1,20 @@
+package com.champlain.studentsservice.utils;
+
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.presentationlayer.StudentRequestDTO;
+import com.champlain.studentsservice.presentationlayer.StudentResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface StudentMapper {
+
+    StudentMapper INSTANCE = Mappers.getMapper(StudentMapper.class);
+
+    StudentResponseDTO toStudentResponseDTO(Student student);
+
+    @Mapping(target = "studentId", ignore = true)
+    Student toStudentEntity(StudentRequestDTO studentRequestDTO);
+
+}
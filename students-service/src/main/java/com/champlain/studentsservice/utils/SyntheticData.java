@@ -0,0 +1,50 @@
+package com.champlain.studentsservice.utils;
+
+import com.champlain.studentsservice.dataaccesslayer.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The students of the synthetic dataset. Student i gets the same studentId and name for a given random seed on every
+ * run; enrollments-service seeds its enrollments from the same functions, so its SyntheticData has to stay in step
+ * with this one.
+ */
+public final class SyntheticData {
+
+    private static final String[] FIRST_NAMES = {"Donna", "Lebron", "Erling", "Mike", "Sofia", "Amir", "Chloe", "Liam",
+            "Fatima", "Noah", "Yuki", "Olivia", "Mateo", "Aisha", "Lucas", "Emma", "Ravi", "Zoe", "Samuel", "Ines"};
+
+    private static final String[] LAST_NAMES = {"Hornsby", "James", "Haaland", "Tyson", "Tremblay", "Gagnon", "Roy",
+            "Nguyen", "Singh", "Martin", "Bouchard", "Garcia", "Cote", "Khan", "Lee", "Pelletier", "Smith", "Moreau",
+            "Ito", "Fortin"};
+
+    private static final String[] PROGRAMS = {"Computer Science", "History", "Political Science", "Nursing",
+            "Business Administration", "Psychology", "Mathematics", "Graphic Design"};
+
+    private SyntheticData() {
+    }
+
+    public static String studentId(long randomSeed, int index) {
+        return UUID.nameUUIDFromBytes(("student:" + randomSeed + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public static String firstName(int index) {
+        return FIRST_NAMES[index % FIRST_NAMES.length];
+    }
+
+    public static String lastName(int index) {
+        return LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    public static Student student(long randomSeed, int index) {
+        return Student.builder()
+                .studentId(studentId(randomSeed, index))
+                .firstName(firstName(index))
+                .lastName(lastName(index))
+                .program(PROGRAMS[new SplittableRandom(randomSeed + index).nextInt(PROGRAMS.length)])
+                .version(0L)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.champlain.studentsservice.dataaccesslayer.Student;
 import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
 import com.champlain.studentsservice.presentationlayer.StudentRequestDTO;
 import com.champlain.studentsservice.presentationlayer.StudentResponseDTO;
+import com.champlain.studentsservice.utils.exceptions.ConflictException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -15,6 +16,7 @@ import reactor.test.StepVerifier;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -132,14 +134,13 @@ class StudentServiceUnitTest {
 
         Student existingStudent = Student.builder()
                 .studentId("c2db7b50-26b5-43f0-ab03-8dc5dab937fb")
-                .id("12345")
                 .build();
 
         Student updatedStudentEntity = Student.builder()
                 .build();
 
         when(studentRepository.findStudentByStudentId(validStudentId)).thenReturn(Mono.just(existingStudent));
-        when(studentRepository.save(any(Student.class))).thenReturn(Mono.just(updatedStudentEntity));
+        when(studentRepository.updateStudentByStudentId(eq(validStudentId), any(Student.class))).thenReturn(Mono.just(updatedStudentEntity));
 
         // Act and Assert
         StepVerifier
@@ -150,6 +151,30 @@ class StudentServiceUnitTest {
                 .verifyComplete();
     }
 
+    @Test
+    void updateStudentById_StaleVersion_ShouldReturnInvalidInput() {
+        // Arrange
+        String validStudentId = "c2db7b50-26b5-43f0-ab03-8dc5dab937fb";
+        StudentRequestDTO studentRequestDTO = StudentRequestDTO.builder()
+                .version(1L)
+                .build();
+
+        Student currentStudent = Student.builder()
+                .studentId(validStudentId)
+                .version(2L)
+                .build();
+
+        when(studentRepository.updateStudentByStudentId(eq(validStudentId), any(Student.class))).thenReturn(Mono.empty());
+        when(studentRepository.findStudentByStudentId(validStudentId)).thenReturn(Mono.just(currentStudent));
+
+        // Act and Assert
+        StepVerifier
+                .create(studentService.updateStudentById(Mono.just(studentRequestDTO), validStudentId))
+                .expectErrorMatches(error -> error instanceof ConflictException
+                        && error.getMessage().contains("modified concurrently"))
+                .verify();
+    }
+
     @Test
     void removeStudent_ValidStudentId_shouldSucceed() {
         // Arrange
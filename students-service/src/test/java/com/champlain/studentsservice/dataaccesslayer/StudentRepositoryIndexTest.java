@@ -0,0 +1,120 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(StudentIndexInitializer.class)
+class StudentRepositoryIndexTest {
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    StudentIndexInitializer studentIndexInitializer;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    public void setupDB(){
+        StepVerifier
+                .create(studentRepository.deleteAll()
+                        .then(studentIndexInitializer.ensureIndexes())
+                        .thenMany(Flux.range(0, 200).map(this::buildStudent).concatMap(studentRepository::insert)))
+                .expectNextCount(200)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findStudentByStudentId_shouldUseIdIndex(){
+        assertNoCollectionScan(new Document("_id", "studentId_100"));
+    }
+
+    @Test
+    public void findAllStudentByStudentIdIn_shouldUseIdIndex(){
+        assertNoCollectionScan(new Document("_id", new Document("$in", List.of("studentId_1", "studentId_2"))));
+    }
+
+    @Test
+    public void findByProgram_shouldUseIndexScan(){
+        assertIndexScan(new Document("program", "program_3"));
+    }
+
+    @Test
+    public void insertDuplicateStudentId_shouldBeRejected(){
+        StepVerifier
+                .create(studentRepository.insert(buildStudent(100)))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    public void migrateLegacyIds_shouldKeyOldLayoutDocumentsByStudentId(){
+        //arrange
+        Document legacy = new Document("_id", new ObjectId()).append("studentId", "studentId_legacy").append("firstName", "Mary").append("lastName", "Smith").append("program", "program_1");
+        Mono<?> insertLegacy = reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Student.class))
+                .flatMap(collection -> Mono.from(collection.insertOne(legacy)));
+
+        //act
+        StepVerifier
+                .create(insertLegacy.then(studentIndexInitializer.migrateLegacyIds()))
+                .expectNext(1L)
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId("studentId_legacy"))
+                .assertNext(student -> assertThat(student.getStudentId()).isEqualTo("studentId_legacy"))
+                .verifyComplete();
+
+        StepVerifier
+                .create(studentRepository.count())
+                .expectNext(201L)
+                .verifyComplete();
+    }
+
+    private void assertIndexScan(Document filter){
+        StepVerifier
+                .create(winningPlan(filter))
+                .assertNext(plan -> assertThat(plan).contains("IXSCAN").doesNotContain("COLLSCAN"))
+                .verifyComplete();
+    }
+
+    // equality on _id is answered by the IDHACK stage, which never shows up as an IXSCAN
+    private void assertNoCollectionScan(Document filter){
+        StepVerifier
+                .create(winningPlan(filter))
+                .assertNext(plan -> assertThat(plan).doesNotContain("COLLSCAN"))
+                .verifyComplete();
+    }
+
+    private Mono<String> winningPlan(Document filter){
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Student.class))
+                .flatMap(collection -> Mono.from(collection.find(filter).explain()))
+                .map(plan -> plan.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson());
+    }
+
+    private Student buildStudent(int i){
+        return Student.builder()
+                .studentId("studentId_" + i)
+                .firstName("Mary")
+                .lastName("Smith")
+                .program("program_" + (i % 10))
+                .build();
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +86,69 @@ class StudentRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void updateStudentByStudentId_matchingVersion_shouldUpdateAndBumpVersion(){
+        //arrange
+        Student changes = buildStudent("Nguyen", null);
+        changes.setVersion(student1.getVersion());
+
+        //act and assert
+        StepVerifier
+                .create(studentRepository.updateStudentByStudentId(student1.getStudentId(), changes))
+                .assertNext(student -> {
+                    assertThat(student.getStudentId()).isEqualTo(student1.getStudentId());
+                    assertThat(student.getLastName()).isEqualTo("Nguyen");
+                    assertThat(student.getVersion()).isEqualTo(student1.getVersion() + 1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void updateStudentByStudentId_staleVersion_shouldNotUpdate(){
+        //arrange
+        Student changes = buildStudent("Nguyen", null);
+        changes.setVersion(student1.getVersion() + 1);
+
+        //act
+        StepVerifier
+                .create(studentRepository.updateStudentByStudentId(student1.getStudentId(), changes))
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(student1.getStudentId()))
+                .assertNext(student -> {
+                    assertThat(student.getLastName()).isEqualTo(student1.getLastName());
+                    assertThat(student.getVersion()).isEqualTo(student1.getVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void insertAllUnordered_oneDuplicateId_shouldInsertTheOthers(){
+        //arrange
+        Student student3 = buildStudent("Micheal", "studentId_3");
+        Student duplicate = buildStudent("Copy", student1.getStudentId());
+        Student student4 = buildStudent("Roy", "studentId_4");
+
+        //act
+        StepVerifier
+                .create(studentRepository.insertAllUnordered(List.of(student3, duplicate, student4)))
+                .assertNext(failures -> assertThat(failures).containsOnlyKeys(1))
+                .verifyComplete();
+
+        //assert
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId("studentId_4"))
+                .assertNext(student -> assertThat(student.getLastName()).isEqualTo("Roy"))
+                .verifyComplete();
+
+        StepVerifier
+                .create(studentRepository.count())
+                .expectNext(4L)
+                .verifyComplete();
+    }
+
     private Student buildStudent(String lastName, String studentId){
         return Student.builder()
                 .studentId(studentId)
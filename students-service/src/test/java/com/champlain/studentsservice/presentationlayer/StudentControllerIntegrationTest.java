@@ -11,10 +11,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -113,6 +116,42 @@ class StudentControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("The student ID needs to be 36 characters: " + invalidIdTest);
     }
 
+    @Test
+    public void getStudentsByStudentIds_shouldReturnMatchesAndReportMissingIds(){
+        String missingStudentId = UUID.randomUUID().toString();
+
+        webTestClient.post()
+                .uri("/students/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(student1.getStudentId(), student3.getStudentId(), missingStudentId, student1.getStudentId()))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentLookupResponseDTO.class)
+                .value(lookup -> {
+                    assertThat(lookup.getStudents()).extracting(StudentResponseDTO::getStudentId)
+                            .containsExactlyInAnyOrder(student1.getStudentId(), student3.getStudentId());
+                    assertThat(lookup.getMissingStudentIds()).containsExactly(missingStudentId);
+                });
+    }
+
+    @Test
+    public void getStudentsByStudentIds_tooManyIds_throwsInvalidInputException(){
+        List<String> studentIds = IntStream.range(0, 501)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        webTestClient.post()
+                .uri("/students/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(studentIds)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("A lookup can contain at most 500 student IDs: 501");
+    }
+
     @Test
     public void addNewStudentWithValidValues_ShouldSucceed(){
         StudentRequestDTO studentRequestDTO = StudentRequestDTO.builder()
@@ -139,6 +178,49 @@ class StudentControllerIntegrationTest {
                 });
     }
 
+    @Test
+    public void importStudents_ndjsonStream_shouldReturnOneResultPerRowInOrder(){
+        //arrange
+        List<StudentRequestDTO> cohort = IntStream.range(0, 2500)
+                .mapToObj(i -> StudentRequestDTO.builder()
+                        .firstName("First" + i)
+                        .lastName(i == 1200 ? null : "Last" + i)
+                        .program("History")
+                        .build())
+                .toList();
+
+        //act
+        List<StudentImportResultDTO> results = webTestClient.post()
+                .uri("/students/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.fromIterable(cohort), StudentRequestDTO.class)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StudentImportResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        //assert
+        assertNotNull(results);
+        assertEquals(2500, results.size());
+        assertEquals(1200, results.get(1200).getIndex());
+        assertEquals(422, results.get(1200).getStatus());
+        assertNull(results.get(1200).getStudentId());
+        assertThat(results).filteredOn(result -> result.getStatus() == 201).hasSize(2499);
+
+        StepVerifier
+                .create(studentRepository.count())
+                .expectNext(DB_SIZE + 2499)
+                .verifyComplete();
+
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(results.get(2499).getStudentId()))
+                .assertNext(student -> assertEquals("Last2499", student.getLastName()))
+                .verifyComplete();
+    }
+
     @Test
     public void updateStudent_withValidId() {
         String validLastName = "joe";
@@ -0,0 +1,42 @@
+package com.champlain.studentsservice.utils;
+
+import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"spring.data.mongodb.port: 0", "app.seed.students=120", "app.seed.chunk-size=50"})
+@ActiveProfiles({"default", "seed"})
+class SyntheticDataLoaderTest {
+
+    @Autowired
+    SyntheticDataLoader syntheticDataLoader;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Test
+    void run_again_shouldKeepTheSameStudents(){
+        //act
+        syntheticDataLoader.run(new DefaultApplicationArguments());
+
+        //assert
+        StepVerifier
+                .create(studentRepository.count())
+                .expectNext(120L)
+                .verifyComplete();
+
+        StepVerifier
+                .create(studentRepository.findStudentByStudentId(SyntheticData.studentId(42, 22)))
+                .consumeNextWith(student -> {
+                    assertEquals("Erling", student.getFirstName());
+                    assertEquals("James", student.getLastName());
+                })
+                .verifyComplete();
+    }
+}